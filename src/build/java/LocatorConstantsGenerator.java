@@ -0,0 +1,163 @@
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.regex.Pattern;
+
+/**
+ * Build step (generate-test-sources): turns element.properties into a Java class of typed constants.
+ * Launched by exec-maven-plugin as a single-file source program, so it needs no compilation step of its own.
+ *
+ * Usage: java LocatorConstantsGenerator.java [properties file] [output source root] [fully qualified class name]
+ *
+ * Every "#Comment" line that is followed by entries starts a nested class (e.g. "#Signup/Login page" -> SignupLogin).
+ * Keys ending in _css/_xpath/_id become "static final By" constants, every other key a "static final String".
+ * This is the only validation of element.properties (nothing reads it at runtime): a duplicate key, a
+ * malformed key, an empty locator or an _id that is not a plain id fails the build.
+ */
+public class LocatorConstantsGenerator {
+
+	private static final Pattern VALID_ID = Pattern.compile("[^\\s\\[\\]'\"=/()]+");
+
+	public static void main(String[] args) throws IOException {
+		Path propertiesFile = Paths.get(args[0]);
+		Path outputRoot = Paths.get(args[1]);
+		String className = args[2];
+
+		Map<String, Map<String, String>> sections = parseSections(propertiesFile);
+		List<String> errors = validate(sections);
+		if (!errors.isEmpty()) {
+			System.err.println("[LocatorConstantsGenerator] Malformed locator(s) in " + propertiesFile + ":");
+			errors.forEach(e -> System.err.println("  " + e));
+			System.exit(1);
+		}
+
+		int lastDot = className.lastIndexOf('.');
+		String packageName = className.substring(0, lastDot);
+		String simpleName = className.substring(lastDot + 1);
+
+		Path target = outputRoot.resolve(packageName.replace('.', '/')).resolve(simpleName + ".java");
+		Files.createDirectories(target.getParent());
+		Files.writeString(target, render(propertiesFile, packageName, simpleName, sections), StandardCharsets.UTF_8);
+		System.out.println("[LocatorConstantsGenerator] Generated " + target);
+	}
+
+	// Keeps file order; entries before the first section comment go to "General"
+	private static Map<String, Map<String, String>> parseSections(Path file) throws IOException {
+		Map<String, Map<String, String>> sections = new LinkedHashMap<>();
+		String current = "General";
+
+		for (String raw : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+			String line = raw.trim();
+			if (line.isEmpty()) {
+				continue;
+			}
+			if (line.startsWith("#") || line.startsWith("!")) {
+				current = toClassName(line.substring(1));
+				continue;
+			}
+			Properties entry = new Properties();
+			entry.load(new StringReader(line));
+			for (String key : entry.stringPropertyNames()) {
+				sections.computeIfAbsent(current, s -> new LinkedHashMap<>()).put(key, entry.getProperty(key).trim());
+			}
+		}
+		return sections;
+	}
+
+	private static List<String> validate(Map<String, Map<String, String>> sections) {
+		List<String> errors = new ArrayList<>();
+		Map<String, String> seen = new LinkedHashMap<>();
+		for (Map<String, String> entries : sections.values()) {
+			for (Map.Entry<String, String> e : entries.entrySet()) {
+				String key = e.getKey();
+				if (seen.put(key, e.getValue()) != null) {
+					errors.add(key + " is defined more than once");
+				}
+				if (!key.matches("[a-z][a-z0-9_]*")) {
+					errors.add(key + " is not a valid key (lower_snake_case expected)");
+				}
+				if (isLocatorKey(key) && e.getValue().isEmpty()) {
+					errors.add(key + " has an empty value");
+				}
+				if (key.endsWith("_id") && !e.getValue().isEmpty() && !VALID_ID.matcher(e.getValue()).matches()) {
+					errors.add(key + " is not a plain id: " + e.getValue());
+				}
+			}
+		}
+		return errors;
+	}
+
+	private static String render(Path source, String packageName, String simpleName,
+			Map<String, Map<String, String>> sections) {
+		StringBuilder sb = new StringBuilder();
+		sb.append("package ").append(packageName).append(";\n\n");
+		sb.append("import org.openqa.selenium.By;\n\n");
+		sb.append("/**\n");
+		sb.append(" * GENERATED by src/build/java/LocatorConstantsGenerator.java from ")
+				.append(source.getFileName()).append(" - do not edit.\n");
+		sb.append(" * Edit the Object Repository and rebuild instead.\n");
+		sb.append(" */\n");
+		sb.append("public final class ").append(simpleName).append(" {\n\n");
+		sb.append("\tprivate ").append(simpleName).append("() {\n\t}\n");
+
+		for (Map.Entry<String, Map<String, String>> section : sections.entrySet()) {
+			sb.append("\n\tpublic static final class ").append(section.getKey()).append(" {\n\n");
+			sb.append("\t\tprivate ").append(section.getKey()).append("() {\n\t\t}\n\n");
+			for (Map.Entry<String, String> e : section.getValue().entrySet()) {
+				String key = e.getKey();
+				String constant = key.toUpperCase();
+				String literal = javaLiteral(e.getValue());
+				sb.append("\t\t/** ").append(key).append(" */\n");
+				if (isLocatorKey(key)) {
+					sb.append("\t\tpublic static final By ").append(constant).append(" = By.")
+							.append(byMethod(key)).append('(').append(literal).append(");\n");
+				} else {
+					sb.append("\t\tpublic static final String ").append(constant).append(" = ").append(literal).append(";\n");
+				}
+			}
+			sb.append("\t}\n");
+		}
+		sb.append("}\n");
+		return sb.toString();
+	}
+
+	private static boolean isLocatorKey(String key) {
+		return key.endsWith("_css") || key.endsWith("_xpath") || key.endsWith("_id");
+	}
+
+	private static String byMethod(String key) {
+		if (key.endsWith("_css")) {
+			return "cssSelector";
+		} else if (key.endsWith("_xpath")) {
+			return "xpath";
+		}
+		return "id";
+	}
+
+	// "Signup/Login page" -> "SignupLogin", "Account Created page" -> "AccountCreated"
+	private static String toClassName(String comment) {
+		String cleaned = comment.trim().replaceAll("(?i)\\s+page$", "");
+		StringBuilder sb = new StringBuilder();
+		for (String word : cleaned.split("[^A-Za-z0-9]+")) {
+			if (!word.isEmpty()) {
+				sb.append(Character.toUpperCase(word.charAt(0))).append(word.substring(1));
+			}
+		}
+		if (sb.length() == 0 || !Character.isJavaIdentifierStart(sb.charAt(0))) {
+			sb.insert(0, "Section");
+		}
+		return sb.toString();
+	}
+
+	private static String javaLiteral(String value) {
+		return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+	}
+}
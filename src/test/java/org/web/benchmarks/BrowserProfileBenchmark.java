@@ -0,0 +1,89 @@
+package org.web.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.openqa.selenium.WebDriver;
+import org.testng.annotations.Test;
+import org.web.drivers.BrowserProfile;
+import org.web.drivers.DriverFactory;
+import org.web.drivers.WebDriverPool;
+
+/**
+ * Compares the browser profiles for the current browser (-Dbrowser): session startup time,
+ * average navigation time over the offline fixtures (plus -Dbenchmark.url if given), and the
+ * resident memory of the processes the session started (driver + browser), read from /proc (Linux only).
+ */
+public class BrowserProfileBenchmark {
+
+	private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 5);
+
+	@Test
+	public void compareProfiles() {
+		String browser = DriverFactory.getBrowser();
+		List<String> urls = new ArrayList<>(List.of(
+				Paths.get("src/test/resources/CartTableFixture.html").toUri() + "?rows=200",
+				Paths.get("src/test/resources/RegistrationFormFixture.html").toUri().toString()));
+		String extraUrl = System.getProperty("benchmark.url");
+		if (extraUrl != null) {
+			urls.add(extraUrl);
+		}
+
+		System.out.println("\n*** Browser profile benchmark (" + browser + ", " + ITERATIONS + " navigations per URL) ***");
+		System.out.printf("%-8s %14s %18s %10s %18s %16s%n", "Profile", "startup (ms)", "avg navigation (ms)",
+				"processes", "total RSS (MB)", "RSS/process (MB)");
+
+		for (BrowserProfile profile : BrowserProfile.values()) {
+			Set<Long> before = descendants();
+			long start = System.nanoTime();
+			WebDriver driver = DriverFactory.newDriver(browser, profile.options(browser));
+			long startupNanos = System.nanoTime() - start;
+			try {
+				long navigationNanos = 0;
+				for (int i = 0; i < ITERATIONS; i++) {
+					for (String url : urls) {
+						long navStart = System.nanoTime();
+						driver.get(url);
+						navigationNanos += System.nanoTime() - navStart;
+					}
+				}
+
+				Set<Long> started = descendants();
+				started.removeAll(before);
+				long rssKb = 0;
+				for (long pid : started) {
+					rssKb += rssKb(pid);
+				}
+				System.out.printf("%-8s %14.0f %18.1f %10d %18.1f %16.1f%n", profile, startupNanos / 1e6,
+						navigationNanos / 1e6 / (ITERATIONS * urls.size()), started.size(), rssKb / 1024.0,
+						started.isEmpty() ? 0 : rssKb / 1024.0 / started.size());
+			} finally {
+				WebDriverPool.release(driver); // not leased: simply quit
+			}
+		}
+	}
+
+	private static Set<Long> descendants() {
+		return ProcessHandle.current().descendants().map(ProcessHandle::pid).collect(Collectors.toCollection(HashSet::new));
+	}
+
+	// VmRSS from /proc/<pid>/status; 0 where /proc is not available or the process already exited
+	private static long rssKb(long pid) {
+		try {
+			for (String line : Files.readAllLines(Paths.get("/proc", String.valueOf(pid), "status"))) {
+				if (line.startsWith("VmRSS:")) {
+					return Long.parseLong(line.replaceAll("[^0-9]", ""));
+				}
+			}
+		} catch (IOException | NumberFormatException e) {
+			// Not Linux, or the process is gone
+		}
+		return 0;
+	}
+}
@@ -0,0 +1,154 @@
+package org.web.benchmarks;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.web.utilities.ChecksumEngine;
+import org.web.utilities.ChecksumEngine.Algorithm;
+import org.web.utilities.FileVerificationUtils;
+
+/**
+ * Throughput (MB/s) of the original getFileChecksum (1 KB byte[] + String.format hex) against ChecksumEngine,
+ * on generated files. Offline: no browser needed.
+ *
+ * - benchmark.checksum.sizes: comma-separated file sizes, default 1K,1M,64M,512M (add 2G for the large export case)
+ * - benchmark.iterations: minimum timed runs per size (small files run more, 256 MB and more run once), default 5
+ *
+ * Files are read once before timing, so the numbers are page-cache (CPU) throughput, not disk throughput.
+ */
+public class ChecksumBenchmark {
+
+	private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 5);
+	private static final String SIZES = System.getProperty("benchmark.checksum.sizes", "1K,1M,64M,512M");
+	private static final int BATCH_FILES = 8;
+
+	private Path dir;
+
+	@BeforeClass
+	public void createDir() throws IOException {
+		dir = Files.createTempDirectory("checksum_benchmark_");
+	}
+
+	@AfterClass(alwaysRun = true)
+	public void deleteDir() throws IOException {
+		FileVerificationUtils.cleanUpDirectory(dir);
+	}
+
+	@Test
+	public void compareThroughput() throws Exception {
+		System.out.println("\n*** Checksum benchmark (" + Runtime.getRuntime().availableProcessors() + " cores) ***");
+		System.out.printf("%-8s %22s %22s %28s%n", "Size", "legacy SHA-256 (MB/s)", "engine SHA-256 (MB/s)",
+				"engine SHA-256+MD5+CRC32C (MB/s)");
+
+		for (String size : SIZES.split(",")) {
+			long bytes = parseSize(size.trim());
+			Path file = createFile("file_" + size.trim(), bytes);
+			// Small files: enough runs to hash ~64 MB in total, so JIT warm-up does not dominate
+			int iterations = bytes >= (256L << 20) ? 1 : (int) Math.max(ITERATIONS, Math.min(10_000, (64L << 20) / bytes));
+
+			String legacy = legacyChecksum(file.toFile()); // warm the page cache
+			ChecksumEngine.Checksums all = ChecksumEngine.compute(file, Algorithm.values());
+			Assert.assertEquals(all.get(Algorithm.SHA256), legacy, "SHA-256 differs for " + size);
+			Assert.assertEquals(all.size(), bytes);
+
+			long legacyNanos = 0, shaNanos = 0, allNanos = 0;
+			for (int i = 0; i < iterations; i++) {
+				long start = System.nanoTime();
+				legacyChecksum(file.toFile());
+				legacyNanos += System.nanoTime() - start;
+
+				start = System.nanoTime();
+				ChecksumEngine.compute(file, Algorithm.SHA256);
+				shaNanos += System.nanoTime() - start;
+
+				start = System.nanoTime();
+				ChecksumEngine.compute(file, Algorithm.values());
+				allNanos += System.nanoTime() - start;
+			}
+			System.out.printf("%-8s %22.1f %22.1f %28.1f%n", size.trim(), mbPerSecond(bytes * iterations, legacyNanos),
+					mbPerSecond(bytes * iterations, shaNanos), mbPerSecond(bytes * iterations, allNanos));
+			Files.delete(file);
+		}
+
+		// Batch: the same files hashed one after another vs ChecksumEngine.computeAll
+		long batchBytes = 16L << 20;
+		List<Path> batch = new ArrayList<>();
+		for (int i = 0; i < BATCH_FILES; i++) {
+			batch.add(createFile("batch_" + i, batchBytes));
+		}
+		long start = System.nanoTime();
+		for (Path file : batch) {
+			ChecksumEngine.compute(file, Algorithm.SHA256);
+		}
+		long sequentialNanos = System.nanoTime() - start;
+		start = System.nanoTime();
+		ChecksumEngine.computeAll(batch, Algorithm.SHA256);
+		long parallelNanos = System.nanoTime() - start;
+		System.out.printf("Batch of %d x 16M: sequential %.1f MB/s, computeAll %.1f MB/s%n", BATCH_FILES,
+				mbPerSecond(batchBytes * BATCH_FILES, sequentialNanos), mbPerSecond(batchBytes * BATCH_FILES, parallelNanos));
+	}
+
+	// The original FileVerificationUtils.getFileChecksum, kept as the baseline
+	private static String legacyChecksum(File file) throws IOException, NoSuchAlgorithmException {
+		MessageDigest digest = MessageDigest.getInstance("SHA-256");
+		try (FileInputStream fis = new FileInputStream(file)) {
+			byte[] byteArray = new byte[1024];
+			int bytesCount;
+			while ((bytesCount = fis.read(byteArray)) != -1) {
+				digest.update(byteArray, 0, bytesCount);
+			}
+		}
+		StringBuilder sb = new StringBuilder();
+		for (byte b : digest.digest()) {
+			sb.append(String.format("%02x", b));
+		}
+		return sb.toString();
+	}
+
+	private Path createFile(String name, long bytes) throws IOException {
+		Path file = dir.resolve(name);
+		byte[] chunk = new byte[1 << 20];
+		new Random(42).nextBytes(chunk);
+		try (OutputStream out = Files.newOutputStream(file)) {
+			for (long written = 0; written < bytes; written += chunk.length) {
+				out.write(chunk, 0, (int) Math.min(chunk.length, bytes - written));
+			}
+		}
+		return file;
+	}
+
+	private static long parseSize(String size) {
+		long unit = 1;
+		switch (Character.toUpperCase(size.charAt(size.length() - 1))) {
+		case 'K':
+			unit = 1L << 10;
+			break;
+		case 'M':
+			unit = 1L << 20;
+			break;
+		case 'G':
+			unit = 1L << 30;
+			break;
+		default:
+			return Long.parseLong(size);
+		}
+		return Long.parseLong(size.substring(0, size.length() - 1)) * unit;
+	}
+
+	private static double mbPerSecond(long bytes, long nanos) {
+		return (bytes / (double) (1 << 20)) / (nanos / 1e9);
+	}
+}
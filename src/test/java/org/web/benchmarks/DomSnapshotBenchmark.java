@@ -0,0 +1,81 @@
+package org.web.benchmarks;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.web.drivers.DriverFactory;
+import org.web.utilities.CommandCounter;
+import org.web.utilities.DomSnapshot;
+
+/**
+ * Compares reading a cart table cell by cell (as TrickyLocators.trickyLocatorL2 did) with one DomSnapshot call,
+ * on the offline CartTableFixture.html.
+ */
+public class DomSnapshotBenchmark {
+
+	private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 5);
+	private static final int ROWS = Integer.getInteger("benchmark.rows", 50);
+
+	private static final By ROWS_LOCATOR = By.cssSelector("tr[id^='product']");
+	private static final Map<String, By> COLUMNS = new LinkedHashMap<>();
+	static {
+		COLUMNS.put("description", By.className("cart_description"));
+		COLUMNS.put("price", By.className("cart_price"));
+		COLUMNS.put("quantity", By.className("cart_quantity"));
+		COLUMNS.put("total", By.className("cart_total"));
+	}
+
+	@Test
+	public void comparePerCellWithBulkExtraction() {
+		CommandCounter counter = new CommandCounter();
+		WebDriver driver = counter.decorate(DriverFactory.getDriver());
+		driver.get(Paths.get("src/test/resources/CartTableFixture.html").toUri() + "?rows=" + ROWS);
+
+		long perCellNanos = 0, bulkNanos = 0, perCellCommands = 0, bulkCommands = 0;
+		List<Map<String, String>> perCell = null;
+		List<DomSnapshot.Row> bulk = null;
+
+		for (int i = 0; i < ITERATIONS; i++) {
+			counter.reset();
+			long start = System.nanoTime();
+			perCell = new ArrayList<>();
+			for (WebElement row : driver.findElements(ROWS_LOCATOR)) {
+				Map<String, String> values = new LinkedHashMap<>();
+				for (Map.Entry<String, By> column : COLUMNS.entrySet()) {
+					values.put(column.getKey(), row.findElement(column.getValue()).getText());
+				}
+				perCell.add(values);
+			}
+			perCellNanos += System.nanoTime() - start;
+			perCellCommands += counter.count();
+
+			counter.reset();
+			start = System.nanoTime();
+			bulk = DomSnapshot.extract(driver, ROWS_LOCATOR, COLUMNS);
+			bulkNanos += System.nanoTime() - start;
+			bulkCommands += counter.count();
+		}
+
+		System.out.println("\n*** DomSnapshot benchmark (" + DriverFactory.getBrowser() + ", " + ROWS + " rows, "
+				+ ITERATIONS + " iterations) ***");
+		System.out.printf("%-32s %16s %14s%n", "Approach", "avg time (ms)", "avg commands");
+		System.out.printf("%-32s %16.1f %14.1f%n", "findElement + getText per cell", perCellNanos / 1e6 / ITERATIONS,
+				(double) perCellCommands / ITERATIONS);
+		System.out.printf("%-32s %16.1f %14.1f%n", "DomSnapshot.extract", bulkNanos / 1e6 / ITERATIONS,
+				(double) bulkCommands / ITERATIONS);
+
+		// Both approaches must read the same data
+		Assert.assertEquals(bulk.size(), perCell.size());
+		for (int r = 0; r < bulk.size(); r++) {
+			Assert.assertEquals(bulk.get(r).values(), perCell.get(r), "Row " + r + " differs");
+		}
+	}
+}
@@ -0,0 +1,83 @@
+package org.web.benchmarks;
+
+import java.nio.file.Paths;
+import java.time.Duration;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.FluentWait;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.web.drivers.DriverFactory;
+import org.web.utilities.CommandCounter;
+import org.web.utilities.DomWait;
+
+/**
+ * Compares the 500 ms FluentWait used in LoadingSpinnerDynamicWait with the MutationObserver-based DomWait
+ * on LoadingSpinnerWebPage.html.
+ *
+ * Latency = time between the page's setTimeout(showPage, 3000) firing and the wait returning to the test,
+ * measured with the page's own clock (performance.now()) so it is not affected by driver overhead before the wait.
+ */
+public class DomWaitBenchmark {
+
+	private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 5);
+	private static final By TEXT_BOX = By.id("myDiv");
+	private static final long PAGE_DELAY_MS = 3000; // setTimeout(showPage, 3000) in the fixture
+
+	private static final String SHOW_PAGE_TIME = "var nav = performance.getEntriesByType('navigation')[0];"
+			+ "return nav.loadEventStart + " + PAGE_DELAY_MS + ";";
+
+	@Test
+	public void compareWaitLatencyAndCommandCount() {
+		WebDriver rawDriver = DriverFactory.getDriver();
+		CommandCounter counter = new CommandCounter();
+		WebDriver driver = counter.decorate(rawDriver);
+		String url = Paths.get("src/test/resources/LoadingSpinnerWebPage.html").toUri().toString();
+
+		double fluentLatency = 0, domLatency = 0;
+		long fluentCommands = 0, domCommands = 0;
+
+		for (int i = 0; i < ITERATIONS; i++) {
+			// FluentWait polling, as in LoadingSpinnerDynamicWait
+			driver.get(url);
+			double shownAt = pageTime(rawDriver, SHOW_PAGE_TIME);
+			counter.reset();
+			new FluentWait<WebDriver>(driver).withTimeout(Duration.ofSeconds(10))
+					.pollingEvery(Duration.ofMillis(500))
+					.ignoring(NoSuchElementException.class)
+					.ignoring(StaleElementReferenceException.class)
+					.until(d -> {
+						WebElement element = d.findElement(TEXT_BOX);
+						return element.isDisplayed() ? element : null;
+					});
+			fluentCommands += counter.count();
+			fluentLatency += pageTime(rawDriver, "return performance.now();") - shownAt;
+
+			// Event-driven wait
+			driver.get(url);
+			shownAt = pageTime(rawDriver, SHOW_PAGE_TIME);
+			counter.reset();
+			DomWait.untilVisible(driver, TEXT_BOX, Duration.ofSeconds(10));
+			domCommands += counter.count();
+			domLatency += pageTime(rawDriver, "return performance.now();") - shownAt;
+		}
+
+		System.out.println("\n*** DomWait benchmark (" + DriverFactory.getBrowser() + ", " + ITERATIONS + " iterations) ***");
+		System.out.printf("%-28s %18s %14s%n", "Wait", "avg latency (ms)", "avg commands");
+		System.out.printf("%-28s %18.1f %14.1f%n", "FluentWait (500 ms polling)", fluentLatency / ITERATIONS,
+				(double) fluentCommands / ITERATIONS);
+		System.out.printf("%-28s %18.1f %14.1f%n", "DomWait (MutationObserver)", domLatency / ITERATIONS,
+				(double) domCommands / ITERATIONS);
+
+		Assert.assertTrue(domCommands <= fluentCommands, "DomWait should not issue more commands than polling");
+	}
+
+	private static double pageTime(WebDriver driver, String script) {
+		return ((Number) ((JavascriptExecutor) driver).executeScript(script)).doubleValue();
+	}
+}
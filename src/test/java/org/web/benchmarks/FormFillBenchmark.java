@@ -0,0 +1,99 @@
+package org.web.benchmarks;
+
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.Select;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.web.drivers.DriverFactory;
+import org.web.pages.AutomationExerciseSignupPage;
+import org.web.pages.Locators.Registration;
+import org.web.utilities.CommandCounter;
+
+/**
+ * Compares filling the registration form field by field (as RegistrationTests did) with
+ * AutomationExerciseSignupPage.fill_account_information, on the offline RegistrationFormFixture.html.
+ */
+public class FormFillBenchmark {
+
+	private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 5);
+
+	private static final Map<String, String> DATA = new LinkedHashMap<>();
+	static {
+		DATA.put("password", "Secret123!");
+		DATA.put("firstName", "Bench");
+		DATA.put("lastName", "Marker");
+		DATA.put("address1", "1 Test Street");
+		DATA.put("country", "Canada");
+		DATA.put("state", "Ontario");
+		DATA.put("city", "Toronto");
+		DATA.put("zipcode", "M5V 2T6");
+		DATA.put("mobileNumber", "5550100");
+	}
+
+	private static final By[] TEXT_FIELDS = { Registration.SIGNUP_PASSWORD_ID, Registration.SIGNUP_FIRST_NAME_ID,
+			Registration.SIGNUP_LAST_NAME_ID, Registration.SIGNUP_ADDRESS1_ID, Registration.SIGNUP_STATE_ID,
+			Registration.SIGNUP_CITY_ID, Registration.SIGNUP_ZIPCODE_ID, Registration.SIGNUP_MOBILE_NUMBER_ID };
+
+	@Test
+	public void comparePerFieldWithBatchedFill() {
+		CommandCounter counter = new CommandCounter();
+		WebDriver driver = counter.decorate(DriverFactory.getDriver());
+		AutomationExerciseSignupPage page = new AutomationExerciseSignupPage(driver);
+		String url = Paths.get("src/test/resources/RegistrationFormFixture.html").toUri().toString();
+
+		long perFieldNanos = 0, batchNanos = 0, perFieldCommands = 0, batchCommands = 0;
+		for (int i = 0; i < ITERATIONS; i++) {
+			driver.get(url);
+			counter.reset();
+			long start = System.nanoTime();
+			page.enter_signup_password(DATA.get("password"));
+			page.enter_signup_first_name(DATA.get("firstName"));
+			page.enter_signup_last_name(DATA.get("lastName"));
+			page.enter_signup_address1(DATA.get("address1"));
+			page.select_signup_country(DATA.get("country"));
+			page.enter_signup_state(DATA.get("state"));
+			page.enter_signup_city(DATA.get("city"));
+			page.enter_signup_zipcode(DATA.get("zipcode"));
+			page.enter_signup_mobile_number(DATA.get("mobileNumber"));
+			perFieldNanos += System.nanoTime() - start;
+			perFieldCommands += counter.count();
+			Map<String, String> expected = formState(driver);
+
+			driver.get(url);
+			counter.reset();
+			start = System.nanoTime();
+			page.fill_account_information(DATA);
+			batchNanos += System.nanoTime() - start;
+			batchCommands += counter.count();
+
+			// Same values as real typing, and every field saw input + change for the app's validation
+			Assert.assertEquals(formState(driver), expected);
+			for (By field : TEXT_FIELDS) {
+				String events = driver.findElement(field).getDomAttribute("data-events");
+				Assert.assertTrue(events.contains("input") && events.contains("change"), field + " events: " + events);
+			}
+		}
+
+		System.out.println("\n*** Form fill benchmark (" + DriverFactory.getBrowser() + ", " + DATA.size() + " fields, "
+				+ ITERATIONS + " iterations) ***");
+		System.out.printf("%-32s %16s %14s%n", "Approach", "avg time (ms)", "avg commands");
+		System.out.printf("%-32s %16.1f %14.1f%n", "findElement + sendKeys per field", perFieldNanos / 1e6 / ITERATIONS,
+				(double) perFieldCommands / ITERATIONS);
+		System.out.printf("%-32s %16.1f %14.1f%n", "fill_account_information", batchNanos / 1e6 / ITERATIONS,
+				(double) batchCommands / ITERATIONS);
+	}
+
+	private static Map<String, String> formState(WebDriver driver) {
+		Map<String, String> state = new LinkedHashMap<>();
+		for (By field : TEXT_FIELDS) {
+			state.put(field.toString(), driver.findElement(field).getDomProperty("value"));
+		}
+		state.put("country", new Select(driver.findElement(Registration.SIGNUP_COUNTRY_ID)).getFirstSelectedOption().getText());
+		return state;
+	}
+}
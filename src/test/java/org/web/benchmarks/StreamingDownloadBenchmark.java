@@ -0,0 +1,123 @@
+package org.web.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.web.utilities.ChecksumEngine;
+import org.web.utilities.ChecksumEngine.Algorithm;
+import org.web.utilities.ChecksumEngine.Checksums;
+import org.web.utilities.FileVerificationUtils;
+import org.web.utilities.StreamingDownloadVerifier;
+
+/**
+ * Latency from "browser finalizes the download" to "size and hash known", for:
+ * - wait then hash: waitForDownloadToComplete followed by getFileChecksum (two passes)
+ * - StreamingDownloadVerifier: hash while the file is written (one pass)
+ *
+ * Offline: a writer thread simulates Chrome, writing name.crdownload at a throttled rate and renaming it.
+ * - benchmark.download.size: bytes per download, default 256M (K/M/G suffixes)
+ * - benchmark.download.rateMBps: simulated network speed, default 100
+ */
+public class StreamingDownloadBenchmark {
+
+	private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 5);
+	private static final long SIZE_MB = parseMegabytes(System.getProperty("benchmark.download.size", "256M"));
+	private static final int RATE_MBPS = Integer.getInteger("benchmark.download.rateMBps", 100);
+
+	private Path dir;
+
+	@BeforeClass
+	public void createDir() throws IOException {
+		dir = FileVerificationUtils.createTempDownloadDir();
+	}
+
+	@AfterClass(alwaysRun = true)
+	public void deleteDir() throws IOException {
+		FileVerificationUtils.cleanUpDirectory(dir);
+	}
+
+	@Test
+	public void compareHashLatencyAfterDownload() throws Exception {
+		long waitThenHashNanos = 0, streamingNanos = 0;
+		for (int i = 0; i < ITERATIONS; i++) {
+			// Wait, then hash
+			String name = "export_" + i + "_a.bin";
+			CompletableFuture<Long> finalized = simulateDownload(name, i);
+			File file = FileVerificationUtils.waitForDownloadToComplete(dir, name, 120);
+			String sha256 = FileVerificationUtils.getFileChecksum(file);
+			waitThenHashNanos += System.nanoTime() - finalized.get();
+
+			// Hash while downloading
+			name = "export_" + i + "_b.bin";
+			CompletableFuture<Checksums> streamed = StreamingDownloadVerifier.start(dir, name, Duration.ofMinutes(2),
+					Algorithm.SHA256);
+			finalized = simulateDownload(name, i);
+			Checksums checksums = streamed.get(2, TimeUnit.MINUTES);
+			streamingNanos += System.nanoTime() - finalized.get();
+
+			Assert.assertEquals(checksums.get(Algorithm.SHA256), sha256, "Same content must give the same hash");
+			Assert.assertEquals(checksums.size(), SIZE_MB << 20);
+			Assert.assertEquals(ChecksumEngine.compute(dir.resolve(name)).get(Algorithm.SHA256), sha256);
+			Files.delete(file.toPath());
+			Files.delete(dir.resolve(name));
+		}
+
+		System.out.println("\n*** Streaming download benchmark (" + SIZE_MB + " MB at " + RATE_MBPS + " MB/s, "
+				+ ITERATIONS + " iterations) ***");
+		System.out.printf("%-40s %34s%n", "Approach", "avg ms from rename to hash ready");
+		System.out.printf("%-40s %34.1f%n", "waitForDownloadToComplete + checksum", waitThenHashNanos / 1e6 / ITERATIONS);
+		System.out.printf("%-40s %34.1f%n", "StreamingDownloadVerifier", streamingNanos / 1e6 / ITERATIONS);
+	}
+
+	/**
+	 * Writes name.crdownload at RATE_MBPS, then renames it to name like Chrome does.
+	 * @return completes with System.nanoTime() of the rename.
+	 */
+	private CompletableFuture<Long> simulateDownload(String name, long seed) {
+		return CompletableFuture.supplyAsync(() -> {
+			try {
+				Path partial = dir.resolve(name + ".crdownload");
+				byte[] chunk = new byte[1 << 20];
+				new Random(seed).nextBytes(chunk);
+				long start = System.nanoTime();
+				try (OutputStream out = Files.newOutputStream(partial)) {
+					for (long mb = 0; mb < SIZE_MB; mb++) {
+						out.write(chunk);
+						out.flush();
+						long due = start + (mb + 1) * 1_000_000_000L / RATE_MBPS;
+						long wait = due - System.nanoTime();
+						if (wait > 0) {
+							TimeUnit.NANOSECONDS.sleep(wait);
+						}
+					}
+				}
+				Files.move(partial, dir.resolve(name), StandardCopyOption.ATOMIC_MOVE);
+				return System.nanoTime();
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException(e);
+			}
+		});
+	}
+
+	private static long parseMegabytes(String size) {
+		char unit = Character.toUpperCase(size.charAt(size.length() - 1));
+		long value = Long.parseLong(size.replaceAll("[^0-9]", ""));
+		return unit == 'G' ? value << 10 : unit == 'K' ? Math.max(1, value >> 10) : value;
+	}
+}
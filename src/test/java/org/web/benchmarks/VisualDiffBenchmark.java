@@ -0,0 +1,81 @@
+package org.web.benchmarks;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.web.utilities.VisualDiff;
+
+/**
+ * Time to compare two full-HD screenshots with VisualDiff: tiled on the fork-join pool vs one single tile.
+ * Offline: the images are generated (boxes and text), the "actual" one has a changed button and a moved label.
+ */
+public class VisualDiffBenchmark {
+
+	private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 5);
+	private static final int WIDTH = 1920;
+	private static final int HEIGHT = 1080;
+
+	@Test
+	public void compareTiledWithSingleTile() {
+		BufferedImage baseline = page(false);
+		BufferedImage actual = page(true);
+		VisualDiff.Options tiled = new VisualDiff.Options();
+		VisualDiff.Options singleTile = new VisualDiff.Options().tileSize(Math.max(WIDTH, HEIGHT));
+
+		// Warm-up, and both settings must find the same pixels
+		VisualDiff.Result expected = VisualDiff.compare(baseline, actual, singleTile);
+		Assert.assertEquals(VisualDiff.compare(baseline, actual, tiled).mismatchedPixels(), expected.mismatchedPixels());
+		Assert.assertTrue(expected.mismatchedPixels() > 0, "The generated pages must differ");
+		Assert.assertEquals(VisualDiff.compare(baseline, baseline, tiled).mismatchedPixels(), 0);
+		VisualDiff.Result masked = VisualDiff.compare(baseline, actual, new VisualDiff.Options().ignore(0, 0, WIDTH, HEIGHT / 2));
+		Assert.assertTrue(masked.mismatchedPixels() < expected.mismatchedPixels(), "Ignore region must hide the top changes");
+
+		long tiledNanos = 0, singleNanos = 0;
+		for (int i = 0; i < ITERATIONS; i++) {
+			long start = System.nanoTime();
+			VisualDiff.compare(baseline, actual, singleTile);
+			singleNanos += System.nanoTime() - start;
+
+			start = System.nanoTime();
+			VisualDiff.compare(baseline, actual, tiled);
+			tiledNanos += System.nanoTime() - start;
+		}
+
+		System.out.println("\n*** Visual diff benchmark (" + WIDTH + "x" + HEIGHT + ", "
+				+ Runtime.getRuntime().availableProcessors() + " cores, " + ITERATIONS + " iterations) ***");
+		System.out.println("Result: " + expected);
+		System.out.printf("%-28s %16s%n", "Tiling", "avg time (ms)");
+		System.out.printf("%-28s %16.1f%n", "single tile", singleNanos / 1e6 / ITERATIONS);
+		System.out.printf("%-28s %16.1f%n", "256 px tiles (fork-join)", tiledNanos / 1e6 / ITERATIONS);
+	}
+
+	private static BufferedImage page(boolean changed) {
+		BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_ARGB);
+		Graphics2D g = image.createGraphics();
+		g.setColor(Color.WHITE);
+		g.fillRect(0, 0, WIDTH, HEIGHT);
+		Random random = new Random(7);
+		for (int i = 0; i < 60; i++) {
+			g.setColor(new Color(random.nextInt(0xFFFFFF)));
+			g.fillRect(random.nextInt(WIDTH), random.nextInt(HEIGHT), 40 + random.nextInt(300), 20 + random.nextInt(120));
+		}
+		g.setColor(Color.DARK_GRAY);
+		g.setFont(new Font(Font.SANS_SERIF, Font.PLAIN, 18));
+		for (int line = 0; line < 30; line++) {
+			g.drawString("Financial Overview row " + line, 120, 300 + line * 24);
+		}
+		if (changed) {
+			g.setColor(new Color(0x1E88E5));
+			g.fillRoundRect(1500, 120, 200, 48, 12, 12); // restyled button
+			g.setColor(Color.DARK_GRAY);
+			g.drawString("Accounts Overview", 124, 280); // moved label
+		}
+		g.dispose();
+		return image;
+	}
+}
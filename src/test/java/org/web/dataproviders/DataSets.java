@@ -0,0 +1,68 @@
+package org.web.dataproviders;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Parsed test-data sets, cached per file path and modification time, so several test classes (and re-runs in the
+ * same JVM) parse a data file once. Files larger than -Ddata.cache.maxBytes (default 32 MB) are not cached;
+ * {@link UserDataProvider} streams those instead.
+ */
+public final class DataSets {
+
+	private static final Map<Path, Entry> CACHE = new ConcurrentHashMap<>();
+
+	private static final class Entry {
+		final long modified;
+		final long size;
+		final List<RegistrationData> records;
+
+		Entry(long modified, long size, List<RegistrationData> records) {
+			this.modified = modified;
+			this.size = size;
+			this.records = records;
+		}
+	}
+
+	private DataSets() {
+	}
+
+	/**
+	 * Every record of file (.json, .ndjson/.jsonl or .csv), validated. Parsed once per path and modification time;
+	 * the returned list is unmodifiable and shared.
+	 */
+	public static List<RegistrationData> registrationData(Path file) throws IOException {
+		Path key = file.toAbsolutePath().normalize();
+		BasicFileAttributes attributes = Files.readAttributes(key, BasicFileAttributes.class);
+		long modified = attributes.lastModifiedTime().toMillis();
+		Entry cached = CACHE.get(key);
+		if (cached != null && cached.modified == modified && cached.size == attributes.size()) {
+			return cached.records;
+		}
+
+		List<RegistrationData> records = new ArrayList<>();
+		try (RecordReader reader = RecordReader.open(key)) {
+			while (reader.hasNext()) {
+				records.add(RegistrationData.fromMap(reader.next(), key.getFileName() + " record #" + records.size()));
+			}
+		}
+		List<RegistrationData> parsed = Collections.unmodifiableList(records);
+		// Parallel loaders may both parse a changed file; either result is current
+		CACHE.put(key, new Entry(modified, attributes.size(), parsed));
+		return parsed;
+	}
+
+	/**
+	 * True if file is small enough to be loaded and cached whole.
+	 */
+	static boolean cacheable(Path file) throws IOException {
+		return Files.size(file) <= Long.getLong("data.cache.maxBytes", 32L * 1024 * 1024);
+	}
+}
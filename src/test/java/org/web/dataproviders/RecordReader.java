@@ -0,0 +1,232 @@
+package org.web.dataproviders;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+/**
+ * Streams flat test-data records (field name -> value) from a file, one at a time, so memory stays flat
+ * however large the data set is. The format follows the extension:
+ * - .json: an array of objects, read with Gson's JsonReader.
+ * - .ndjson / .jsonl: one object per line (blank lines are skipped).
+ * - .csv: a header row of field names, then one record per line ("..." quoting with "" escapes; no multi-line values).
+ *
+ * The file is closed when the last record has been read, on a parse error, or by {@link #close()}.
+ * Not thread-safe: TestNG pulls data-provider rows from a single thread.
+ */
+public final class RecordReader implements Iterator<Map<String, String>>, Closeable {
+
+	private enum Format {
+		JSON, NDJSON, CSV
+	}
+
+	private final Path file;
+	private final Format format;
+	private final BufferedReader reader;
+	private JsonReader json; // JSON format only
+	private List<String> csvHeader; // CSV format only
+	private Map<String, String> next;
+	private long lineNumber;
+	private boolean closed;
+
+	private RecordReader(Path file, Format format, BufferedReader reader) {
+		this.file = file;
+		this.format = format;
+		this.reader = reader;
+	}
+
+	/**
+	 * Opens file for streaming; nothing is read until the first {@link #hasNext()}.
+	 */
+	public static RecordReader open(Path file) throws IOException {
+		String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+		Format format;
+		if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+			format = Format.NDJSON;
+		} else if (name.endsWith(".csv")) {
+			format = Format.CSV;
+		} else if (name.endsWith(".json")) {
+			format = Format.JSON;
+		} else {
+			throw new IllegalArgumentException("Unsupported data file " + file + " (expected .json, .ndjson, .jsonl or .csv)");
+		}
+		return new RecordReader(file, format, Files.newBufferedReader(file, StandardCharsets.UTF_8));
+	}
+
+	@Override
+	public boolean hasNext() {
+		if (next == null && !closed) {
+			try {
+				next = readRecord();
+			} catch (IOException | RuntimeException e) {
+				close();
+				throw e instanceof IOException ? new UncheckedIOException(fail(e), (IOException) e)
+						: new IllegalStateException(fail(e), e);
+			}
+			if (next == null) {
+				close();
+			}
+		}
+		return next != null;
+	}
+
+	@Override
+	public Map<String, String> next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException("No more records in " + file);
+		}
+		Map<String, String> record = next;
+		next = null;
+		return record;
+	}
+
+	/**
+	 * Skips up to count records without keeping them (used for index-range sharding).
+	 * @return the number of records skipped.
+	 */
+	public long skip(long count) {
+		long skipped = 0;
+		while (skipped < count && hasNext()) {
+			next = null;
+			skipped++;
+		}
+		return skipped;
+	}
+
+	@Override
+	public void close() {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		try {
+			reader.close();
+		} catch (IOException e) {
+			System.err.println("Could not close data file " + file + ": " + e.getMessage());
+		}
+	}
+
+	private String fail(Exception e) {
+		return "Bad record in " + file + (format == Format.JSON ? "" : " at line " + lineNumber) + ": " + e.getMessage();
+	}
+
+	// Returns null at the end of the data
+	private Map<String, String> readRecord() throws IOException {
+		switch (format) {
+		case JSON:
+			if (json == null) {
+				json = new JsonReader(reader);
+				json.beginArray();
+			}
+			if (!json.hasNext()) {
+				json.endArray();
+				return null;
+			}
+			return readObject(json);
+		case NDJSON:
+			String line;
+			while ((line = nextLine()) != null) {
+				if (!line.isBlank()) {
+					return readObject(new JsonReader(new StringReader(line)));
+				}
+			}
+			return null;
+		default:
+			if (csvHeader == null) {
+				String header = nextLine();
+				if (header == null) {
+					return null;
+				}
+				csvHeader = parseCsvLine(header.startsWith("\uFEFF") ? header.substring(1) : header);
+			}
+			while ((line = nextLine()) != null) {
+				if (line.isBlank()) {
+					continue;
+				}
+				List<String> values = parseCsvLine(line);
+				if (values.size() != csvHeader.size()) {
+					throw new IllegalArgumentException("expected " + csvHeader.size() + " columns, found " + values.size());
+				}
+				Map<String, String> record = new LinkedHashMap<>();
+				for (int i = 0; i < values.size(); i++) {
+					record.put(csvHeader.get(i), values.get(i));
+				}
+				return record;
+			}
+			return null;
+		}
+	}
+
+	private String nextLine() throws IOException {
+		String line = reader.readLine();
+		if (line != null) {
+			lineNumber++;
+		}
+		return line;
+	}
+
+	private static Map<String, String> readObject(JsonReader in) throws IOException {
+		Map<String, String> record = new LinkedHashMap<>();
+		in.beginObject();
+		while (in.hasNext()) {
+			String name = in.nextName();
+			JsonToken token = in.peek();
+			if (token == JsonToken.NULL) {
+				in.nextNull();
+				record.put(name, null);
+			} else if (token == JsonToken.BOOLEAN) {
+				record.put(name, String.valueOf(in.nextBoolean()));
+			} else {
+				record.put(name, in.nextString()); // Strings and numbers; nested values are rejected by JsonReader
+			}
+		}
+		in.endObject();
+		return record;
+	}
+
+	static List<String> parseCsvLine(String line) {
+		List<String> values = new ArrayList<>();
+		StringBuilder value = new StringBuilder();
+		boolean quoted = false;
+		for (int i = 0; i < line.length(); i++) {
+			char c = line.charAt(i);
+			if (quoted) {
+				if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+					value.append('"');
+					i++;
+				} else if (c == '"') {
+					quoted = false;
+				} else {
+					value.append(c);
+				}
+			} else if (c == '"') {
+				quoted = true;
+			} else if (c == ',') {
+				values.add(value.toString());
+				value.setLength(0);
+			} else {
+				value.append(c);
+			}
+		}
+		if (quoted) {
+			throw new IllegalArgumentException("unterminated quoted value");
+		}
+		values.add(value.toString());
+		return values;
+	}
+}
@@ -0,0 +1,191 @@
+package org.web.dataproviders;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * One registration scenario from the test data. Immutable, and validated when loaded: an unknown field name
+ * (a typo in the data file) or a missing required field fails the data provider instead of the browser flow.
+ *
+ * Required: scenarioName, firstName, lastName, password, role. The address fields are optional;
+ * missing ones are left untouched on the form. email is optional: {@link UserFixtureFactory} stamps a unique one.
+ */
+public final class RegistrationData {
+
+	static final List<String> REQUIRED_FIELDS = List.of("scenarioName", "firstName", "lastName", "password", "role");
+	static final List<String> FIELDS = List.of("scenarioName", "firstName", "lastName", "password", "address1", "country",
+			"state", "city", "zipcode", "mobileNumber", "role", "email");
+
+	private final String scenarioName;
+	private final String firstName;
+	private final String lastName;
+	private final String password;
+	private final String address1;
+	private final String country;
+	private final String state;
+	private final String city;
+	private final String zipcode;
+	private final String mobileNumber;
+	private final String role;
+	private final String email;
+
+	// No validation: callers pass fields of an already validated record
+	RegistrationData(Map<String, String> fields) {
+		this(fields.get("scenarioName"), fields.get("firstName"), fields.get("lastName"), fields.get("password"),
+				fields.get("address1"), fields.get("country"), fields.get("state"), fields.get("city"), fields.get("zipcode"),
+				fields.get("mobileNumber"), fields.get("role"), fields.get("email"));
+	}
+
+	private RegistrationData(String scenarioName, String firstName, String lastName, String password, String address1,
+			String country, String state, String city, String zipcode, String mobileNumber, String role, String email) {
+		this.scenarioName = scenarioName;
+		this.firstName = firstName;
+		this.lastName = lastName;
+		this.password = password;
+		this.address1 = address1;
+		this.country = country;
+		this.state = state;
+		this.city = city;
+		this.zipcode = zipcode;
+		this.mobileNumber = mobileNumber;
+		this.role = role;
+		this.email = email;
+	}
+
+	/**
+	 * Binds and validates one data record.
+	 * @param source where the record came from, for error messages (e.g. "registration-data.json record #3").
+	 * @throws IllegalArgumentException naming every unknown or missing field.
+	 */
+	public static RegistrationData fromMap(Map<String, String> fields, String source) {
+		StringBuilder problems = new StringBuilder();
+		for (String name : fields.keySet()) {
+			if (!FIELDS.contains(name)) {
+				problems.append(" unknown field '").append(name).append("';");
+			}
+		}
+		for (String name : REQUIRED_FIELDS) {
+			String value = fields.get(name);
+			if (value == null || value.isBlank()) {
+				problems.append(" missing '").append(name).append("';");
+			}
+		}
+		if (problems.length() > 0) {
+			throw new IllegalArgumentException("Invalid registration data in " + source + ":" + problems
+					+ " expected fields " + FIELDS);
+		}
+		return new RegistrationData(fields);
+	}
+
+	public String scenarioName() {
+		return scenarioName;
+	}
+
+	public String firstName() {
+		return firstName;
+	}
+
+	public String lastName() {
+		return lastName;
+	}
+
+	public String password() {
+		return password;
+	}
+
+	public String address1() {
+		return address1;
+	}
+
+	public String country() {
+		return country;
+	}
+
+	public String state() {
+		return state;
+	}
+
+	public String city() {
+		return city;
+	}
+
+	public String zipcode() {
+		return zipcode;
+	}
+
+	public String mobileNumber() {
+		return mobileNumber;
+	}
+
+	public String role() {
+		return role;
+	}
+
+	/**
+	 * @return the account email, or null if the data did not set one.
+	 */
+	public String email() {
+		return email;
+	}
+
+	public RegistrationData withEmail(String newEmail) {
+		return new RegistrationData(scenarioName, firstName, lastName, password, address1, country, state, city, zipcode,
+				mobileNumber, role, Objects.requireNonNull(newEmail, "email"));
+	}
+
+	/**
+	 * A synthetic user on this template: keeps password, role and country/state/city, replaces the rest.
+	 */
+	RegistrationData withPerson(String newScenarioName, String newFirstName, String newLastName, String newAddress1,
+			String newZipcode, String newMobileNumber, String newEmail) {
+		return new RegistrationData(newScenarioName, newFirstName, newLastName, password, newAddress1, country, state,
+				city, newZipcode, newMobileNumber, role, newEmail);
+	}
+
+	/**
+	 * All present fields, in data-file order (field name -> value).
+	 */
+	public Map<String, String> toMap() {
+		Map<String, String> fields = new LinkedHashMap<>();
+		put(fields, "scenarioName", scenarioName);
+		put(fields, "firstName", firstName);
+		put(fields, "lastName", lastName);
+		put(fields, "password", password);
+		put(fields, "address1", address1);
+		put(fields, "country", country);
+		put(fields, "state", state);
+		put(fields, "city", city);
+		put(fields, "zipcode", zipcode);
+		put(fields, "mobileNumber", mobileNumber);
+		put(fields, "role", role);
+		put(fields, "email", email);
+		return Collections.unmodifiableMap(fields);
+	}
+
+	private static void put(Map<String, String> fields, String name, String value) {
+		if (value != null) {
+			fields.put(name, value);
+		}
+	}
+
+	@Override
+	public boolean equals(Object other) {
+		return this == other || (other instanceof RegistrationData && toMap().equals(((RegistrationData) other).toMap()));
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(scenarioName, firstName, lastName, password, address1, country, state, city, zipcode,
+				mobileNumber, role, email);
+	}
+
+	// Shown as the data-provider parameter in TestNG reports; never prints the password
+	@Override
+	public String toString() {
+		return "RegistrationData[" + scenarioName + ", " + firstName + " " + lastName + ", role=" + role
+				+ (email == null ? "" : ", " + email) + "]";
+	}
+}
@@ -1,33 +1,174 @@
 package org.web.dataproviders;
 
-import java.io.FileReader;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
+import java.util.NoSuchElementException;
 
 import org.testng.annotations.DataProvider;
 
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
-
+/**
+ * Registration data as validated {@link RegistrationData} rows. Files up to -Ddata.cache.maxBytes are parsed once
+ * and cached ({@link DataSets}); larger ones are streamed record by record (see {@link RecordReader}).
+ *
+ * Two providers over the same rows:
+ * - "registrationData" (parallel = true): rows run on the suite's data-provider threads. TestNG reads the whole
+ *   iterator up front to schedule them, so memory grows with the number of rows; bound it with data.range or
+ *   data.shard for large files.
+ * - "registrationDataSequential": rows are pulled one at a time as the tests run, so even a 100k-row file costs
+ *   no more memory than a couple of rows.
+ *
+ * Configuration:
+ * - -Ddata.file: the data set (.json, .ndjson/.jsonl or .csv), default src/test/resources/registration-data.json.
+ * - -Ddata.range=FROM-TO: only records FROM (inclusive) to TO (exclusive), by 0-based index; TO may be omitted.
+ * - -Ddata.shard=I/N: only every N-th record starting at I, to split one file across N JVMs or CI jobs.
+ * - -Ddata.synthetic=COUNT: COUNT generated records from {@link UserFixtureFactory} instead of the file's rows
+ *   (the file still supplies the templates); range and shard apply as for file rows. Row i is always fixture
+ *   #i, so -Ddata.range=500-510 yields fixtures #500 to #509.
+ *
+ * Every row gets a unique email from {@link UserFixtureFactory#shared()}, unless the data sets one.
+ */
 public class UserDataProvider {
 
-	@DataProvider(name = "registrationData")
-	public Object[][] getData() throws IOException {
-		
-		// Read JSON file
-		Gson gson = new Gson();
-		FileReader reader = new FileReader("src/test/resources/registration-data.json");
-		
-		// Convert JSON Array to List of Maps
-        List<Map<String, String>> dataList = gson.fromJson(reader, new TypeToken<List<Map<String, String>>>(){}.getType());
-
-        // Convert to 2D Array for TestNG
-        Object[][] testData = new Object[dataList.size()][1];
-        for (int i = 0; i < dataList.size(); i++) {
-            testData[i][0] = dataList.get(i);
-        }
-        
-        return testData;
+	static final String DEFAULT_DATA_FILE = "src/test/resources/registration-data.json";
+
+	// Rows run in parallel (suite data-provider-thread-count); every test thread leases its own browser
+	@DataProvider(name = "registrationData", parallel = true)
+	public Iterator<Object[]> getData() throws IOException {
+		return fromSystemProperties();
+	}
+
+	// Same rows, run one at a time and read lazily: for data sets too large to schedule up front
+	@DataProvider(name = "registrationDataSequential")
+	public Iterator<Object[]> getDataSequential() throws IOException {
+		return fromSystemProperties();
+	}
+
+	private static Iterator<Object[]> fromSystemProperties() throws IOException {
+		return getData(Paths.get(System.getProperty("data.file", DEFAULT_DATA_FILE)),
+				parseRange(System.getProperty("data.range")), parseShard(System.getProperty("data.shard")),
+				Long.getLong("data.synthetic", 0));
+	}
+
+	/**
+	 * The rows for explicit settings, without reading system properties (so tests need not change JVM-wide state).
+	 * @param range {FROM, TO}: record indexes FROM (inclusive) to TO (exclusive).
+	 * @param shard {I, N}: only every N-th record starting at I.
+	 * @param synthetic number of generated records, or 0 for the file's own rows.
+	 */
+	public static Iterator<Object[]> getData(Path file, long[] range, int[] shard, long synthetic) throws IOException {
+		if (synthetic > 0) {
+			long to = Math.min(range[1], synthetic);
+			long from = Math.min(range[0], to);
+			// Row i is fixture #i: a range selects the same fixtures (and emails) in every JVM with the same seed
+			return new Rows(UserFixtureFactory.shared().range(from, to), from, shard[0], shard[1]);
+		}
+
+		if (DataSets.cacheable(file)) {
+			// Parsed and validated once per JVM (until the file changes)
+			List<RegistrationData> records = DataSets.registrationData(file);
+			int from = (int) Math.min(range[0], records.size());
+			int to = (int) Math.min(range[1], records.size());
+			return new Rows(records.subList(from, to).iterator(), from, shard[0], shard[1]);
+		}
+		return stream(file, range, shard);
+	}
+
+	/**
+	 * The file's rows read record by record, whatever its size (never cached).
+	 */
+	public static Iterator<Object[]> stream(Path file, long[] range, int[] shard) throws IOException {
+		RecordReader reader = RecordReader.open(file);
+		long from = reader.skip(range[0]);
+		String name = file.getFileName().toString();
+		Iterator<RegistrationData> records = new Iterator<RegistrationData>() {
+			long index = from;
+
+			@Override
+			public boolean hasNext() {
+				if (index >= range[1]) {
+					reader.close(); // Past the range: stop reading
+					return false;
+				}
+				return reader.hasNext();
+			}
+
+			@Override
+			public RegistrationData next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				return RegistrationData.fromMap(reader.next(), name + " record #" + index++);
+			}
+		};
+		return new Rows(records, from, shard[0], shard[1]);
+	}
+
+	static long[] parseRange(String range) {
+		if (range == null || range.isBlank()) {
+			return new long[] { 0, Long.MAX_VALUE };
+		}
+		String[] bounds = range.split("-", -1);
+		long from = Long.parseLong(bounds[0].trim());
+		long to = bounds.length > 1 && !bounds[1].isBlank() ? Long.parseLong(bounds[1].trim()) : Long.MAX_VALUE;
+		if (bounds.length > 2 || from < 0 || to < from) {
+			throw new IllegalArgumentException("Invalid data.range '" + range + "', expected FROM-TO with 0 <= FROM <= TO");
+		}
+		return new long[] { from, to };
+	}
+
+	static int[] parseShard(String shard) {
+		if (shard == null || shard.isBlank()) {
+			return new int[] { 0, 1 };
+		}
+		String[] parts = shard.split("/");
+		int index = Integer.parseInt(parts[0].trim());
+		int count = parts.length == 2 ? Integer.parseInt(parts[1].trim()) : 0;
+		if (parts.length != 2 || count < 1 || index < 0 || index >= count) {
+			throw new IllegalArgumentException("Invalid data.shard '" + shard + "', expected I/N with 0 <= I < N");
+		}
+		return new int[] { index, count };
+	}
+
+	/**
+	 * Data-provider rows over validated records, restricted to a shard.
+	 */
+	static final class Rows implements Iterator<Object[]> {
+		private final Iterator<RegistrationData> records;
+		private final int shardIndex;
+		private final int shardCount;
+		private long index;
+		private RegistrationData next;
+
+		Rows(Iterator<RegistrationData> records, long firstIndex, int shardIndex, int shardCount) {
+			this.records = records;
+			this.index = firstIndex;
+			this.shardIndex = shardIndex;
+			this.shardCount = shardCount;
+		}
+
+		@Override
+		public boolean hasNext() {
+			while (next == null && records.hasNext()) {
+				if (index++ % shardCount == shardIndex) {
+					next = records.next();
+				} else {
+					records.next();
+				}
+			}
+			return next != null;
+		}
+
+		@Override
+		public Object[] next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			Object[] row = { UserFixtureFactory.shared().withUniqueEmail(next) };
+			next = null;
+			return row;
+		}
 	}
 }
@@ -0,0 +1,194 @@
+package org.web.dataproviders;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Synthetic, collision-free registration fixtures built from the registration-data.json templates.
+ *
+ * Every fixture gets a sequence number, and its email embeds that number, so emails are unique by construction
+ * (no random suffix to collide). Threads claim sequence numbers in blocks of -Dfixtures.blockSize (default 1024)
+ * from one AtomicLong, so allocation is lock-free and almost never touches shared state.
+ *
+ * A fixture is a pure function of (seed, sequence number): names, address, zipcode and phone come from a
+ * SplittableRandom seeded with both. Set -Dfixtures.seed to reproduce a run; otherwise a random seed is chosen
+ * and printed. The seed also tags the emails, so leftover accounts from earlier runs do not collide.
+ *
+ * Sequence numbers below {@link #COUNTER_START} are fixed positions ({@link #range}): the same range always yields
+ * the same fixtures, so CI jobs that split -Ddata.synthetic rows by range never overlap. The counter behind
+ * {@link #next()} starts at COUNTER_START, so it never hands out one of those numbers.
+ */
+public final class UserFixtureFactory {
+
+	private static final String[] FIRST_NAMES = { "John", "Jane", "Liam", "Olivia", "Noah", "Emma", "Arjun", "Priya",
+			"Mateo", "Sofia", "Kenji", "Aiko", "Lucas", "Amara", "Omar", "Leila" };
+	private static final String[] LAST_NAMES = { "Doe", "Smith", "Garcia", "Patel", "Nguyen", "Kim", "Silva", "Mueller",
+			"Rossi", "Okafor", "Haddad", "Novak", "Tanaka", "Jensen", "Cohen", "Moreau" };
+	private static final String[] STREETS = { "Wall St.", "Broadway Ln.", "Main St.", "Oak Ave.", "Maple Dr.",
+			"Park Rd.", "Cedar Ct.", "Lake View Blvd." };
+
+	static final int BLOCK_SIZE = Integer.getInteger("fixtures.blockSize", 1024);
+
+	/**
+	 * First sequence number of the shared counter; lower numbers are reserved for {@link #range}.
+	 */
+	public static final long COUNTER_START = 1L << 40;
+
+	private final List<RegistrationData> templates;
+	private final long seed;
+	private final String runTag;
+	private final AtomicLong nextBlock = new AtomicLong(COUNTER_START);
+	// [next, end) of the sequence block owned by the current thread
+	private final ThreadLocal<long[]> block = ThreadLocal.withInitial(() -> new long[2]);
+
+	public UserFixtureFactory(List<RegistrationData> templates, long seed) {
+		if (templates.isEmpty()) {
+			throw new IllegalArgumentException("At least one template is needed");
+		}
+		this.templates = List.copyOf(templates);
+		this.seed = seed;
+		this.runTag = Long.toString(mix(seed) & 0xFFFFFFFFL, 36);
+	}
+
+	private static final class Holder {
+		static final UserFixtureFactory SHARED = create();
+
+		private static UserFixtureFactory create() {
+			Long configured = Long.getLong("fixtures.seed");
+			long seed = configured != null ? configured : ThreadLocalRandom.current().nextLong();
+			System.out.println("[FIXTURES] Seed " + seed + " (reproduce with -Dfixtures.seed=" + seed + ")");
+			try {
+				return new UserFixtureFactory(DataSets.registrationData(Paths.get(UserDataProvider.DEFAULT_DATA_FILE)), seed);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+	}
+
+	/**
+	 * The JVM-wide factory over registration-data.json, seeded by -Dfixtures.seed.
+	 */
+	public static UserFixtureFactory shared() {
+		return Holder.SHARED;
+	}
+
+	public long seed() {
+		return seed;
+	}
+
+	/**
+	 * A new fixture with the next sequence number of the calling thread's block.
+	 */
+	public RegistrationData next() {
+		return create(nextSequence());
+	}
+
+	/**
+	 * template with a unique email (kept if the template already has one).
+	 */
+	public RegistrationData withUniqueEmail(RegistrationData template) {
+		return template.email() != null ? template : template.withEmail(email(template.firstName(), nextSequence()));
+	}
+
+	/**
+	 * count new fixtures, generated lazily. Their sequence numbers are reserved up front as one contiguous range,
+	 * so with a fixed seed the same call order yields the same fixtures.
+	 */
+	public Iterator<RegistrationData> generate(long count) {
+		long first = reserve(count);
+		return new Iterator<RegistrationData>() {
+			long next = first;
+
+			@Override
+			public boolean hasNext() {
+				return next < first + count;
+			}
+
+			@Override
+			public RegistrationData next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				return create(next++);
+			}
+		};
+	}
+
+	/**
+	 * The fixtures at sequence numbers from (inclusive) to to (exclusive), generated lazily. Does not touch the
+	 * shared counter: with a fixed seed, a range maps to the same fixtures in every JVM.
+	 * @throws IllegalArgumentException unless 0 <= from <= to <= COUNTER_START.
+	 */
+	public Iterator<RegistrationData> range(long from, long to) {
+		if (from < 0 || to < from || to > COUNTER_START) {
+			throw new IllegalArgumentException("Invalid fixture range " + from + "-" + to + ", expected 0 <= FROM <= TO <= "
+					+ COUNTER_START);
+		}
+		return new Iterator<RegistrationData>() {
+			long next = from;
+
+			@Override
+			public boolean hasNext() {
+				return next < to;
+			}
+
+			@Override
+			public RegistrationData next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				return create(next++);
+			}
+		};
+	}
+
+	/**
+	 * The fixture for a sequence number: template sequence % templates, with generated name, address and email.
+	 */
+	public RegistrationData create(long sequence) {
+		RegistrationData template = templates.get((int) Math.floorMod(sequence, (long) templates.size()));
+		SplittableRandom random = new SplittableRandom(mix(seed + mix(sequence)));
+		String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+
+		String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+		String address1 = (100 + random.nextInt(9900)) + " " + STREETS[random.nextInt(STREETS.length)];
+		String zipcode = String.valueOf(10000 + random.nextInt(90000));
+		// 10 digits, no leading 0 or 1
+		String mobileNumber = String.valueOf(2_000_000_000L + random.nextLong(8_000_000_000L));
+		return template.withPerson(template.scenarioName() + " #" + sequence, firstName, lastName, address1, zipcode,
+				mobileNumber, email(firstName, sequence));
+	}
+
+	long nextSequence() {
+		long[] range = block.get();
+		if (range[0] == range[1]) {
+			range[0] = reserve(BLOCK_SIZE);
+			range[1] = range[0] + BLOCK_SIZE;
+		}
+		return range[0]++;
+	}
+
+	private long reserve(long count) {
+		return nextBlock.getAndAdd(count);
+	}
+
+	// name.<run tag>.<sequence>@test.com: unique per sequence number within a run
+	private String email(String firstName, long sequence) {
+		return firstName.toLowerCase(Locale.ROOT) + "." + runTag + "." + Long.toString(sequence, 36) + "@test.com";
+	}
+
+	// SplitMix64 finalizer: spreads neighbouring seeds/sequence numbers over the whole long range
+	private static long mix(long z) {
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+}
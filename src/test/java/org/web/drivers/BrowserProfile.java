@@ -0,0 +1,147 @@
+package org.web.drivers;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Level;
+
+import org.openqa.selenium.MutableCapabilities;
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.chromium.ChromiumOptions;
+import org.openqa.selenium.edge.EdgeOptions;
+import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.logging.LogType;
+
+/**
+ * Named execution profiles: one tuned option set per purpose, applied the same way to Chrome, Edge and Firefox.
+ * Select with -Dbrowser.profile=fast|visual|debug (default visual).
+ *
+ * - FAST: headless, eager page load (DOMContentLoaded), no images, no extensions, 16 MB disk cache.
+ *   For functional runs in CI.
+ * - VISUAL: headed, normal page load, images on, no extensions, fixed 1366x768 window.
+ *   For screenshots and visual comparisons, and the default. The fixed window applies to every test on the
+ *   default profile, so viewports no longer follow the browser's own default size; visual baselines rely on it.
+ * - DEBUG: headed, normal page load, images and extensions on, browser console logs captured.
+ *
+ * Options passed by a test (e.g. download prefs) are merged on top of the profile and win on conflicts.
+ */
+public enum BrowserProfile {
+
+	FAST(true, PageLoadStrategy.EAGER, false, false, 16 * 1024 * 1024, false),
+	VISUAL(false, PageLoadStrategy.NORMAL, true, false, 0, false),
+	DEBUG(false, PageLoadStrategy.NORMAL, true, true, 0, true);
+
+	private static final int WINDOW_WIDTH = 1366;
+	private static final int WINDOW_HEIGHT = 768;
+
+	private final boolean headless;
+	private final PageLoadStrategy pageLoadStrategy;
+	private final boolean images;
+	private final boolean extensions;
+	private final int diskCacheBytes; // 0 = browser default
+	private final boolean consoleLogs;
+
+	BrowserProfile(boolean headless, PageLoadStrategy pageLoadStrategy, boolean images, boolean extensions,
+			int diskCacheBytes, boolean consoleLogs) {
+		this.headless = headless;
+		this.pageLoadStrategy = pageLoadStrategy;
+		this.images = images;
+		this.extensions = extensions;
+		this.diskCacheBytes = diskCacheBytes;
+		this.consoleLogs = consoleLogs;
+	}
+
+	/**
+	 * The profile selected by -Dbrowser.profile (default visual).
+	 */
+	public static BrowserProfile current() {
+		String name = System.getProperty("browser.profile", "visual");
+		try {
+			return valueOf(name.trim().toUpperCase());
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException("Unknown browser.profile '" + name + "', expected fast, visual or debug");
+		}
+	}
+
+	/**
+	 * Default options of this profile for the browser.
+	 */
+	public MutableCapabilities options(String browser) {
+		return apply(browser, DriverFactory.defaultOptions(browser));
+	}
+
+	/**
+	 * Returns new options: this profile's settings with the given options merged on top. The argument is not modified.
+	 */
+	public MutableCapabilities apply(String browser, MutableCapabilities options) {
+		if (browser.equalsIgnoreCase("chrome")) {
+			return chromium(new ChromeOptions(), (ChromiumOptions<?>) options);
+		} else if (browser.equalsIgnoreCase("edge")) {
+			return chromium(new EdgeOptions(), (ChromiumOptions<?>) options);
+		} else if (browser.equalsIgnoreCase("firefox")) {
+			return firefox((FirefoxOptions) options);
+		}
+		throw new IllegalArgumentException("Unsupported browser: " + browser);
+	}
+
+	private MutableCapabilities chromium(ChromiumOptions<?> profiled, ChromiumOptions<?> options) {
+		profiled.setPageLoadStrategy(pageLoadStrategy);
+		profiled.addArguments("--window-size=" + WINDOW_WIDTH + "," + WINDOW_HEIGHT);
+		if (headless) {
+			profiled.addArguments("--headless=new");
+		}
+		if (!extensions) {
+			profiled.addArguments("--disable-extensions");
+		}
+		if (diskCacheBytes > 0) {
+			profiled.addArguments("--disk-cache-size=" + diskCacheBytes);
+		}
+		if (consoleLogs) {
+			// Plain map rather than LoggingPreferences: capabilities must have a stable toString for the pool key
+			profiled.setCapability(ChromeOptions.LOGGING_PREFS, Map.of(LogType.BROWSER, Level.ALL.getName()));
+		}
+
+		// "prefs" is a single experimental option: merge it key by key so test prefs do not drop the profile's
+		Map<String, Object> prefs = new HashMap<>();
+		if (!images) {
+			prefs.put("profile.managed_default_content_settings.images", 2);
+		}
+		Object vendorOptions = options.getCapability(options instanceof EdgeOptions ? EdgeOptions.CAPABILITY : ChromeOptions.CAPABILITY);
+		Object testPrefs = vendorOptions instanceof Map ? ((Map<?, ?>) vendorOptions).get("prefs") : null;
+		if (testPrefs instanceof Map) {
+			for (Map.Entry<?, ?> pref : ((Map<?, ?>) testPrefs).entrySet()) {
+				prefs.put(String.valueOf(pref.getKey()), pref.getValue());
+			}
+		}
+
+		ChromiumOptions<?> merged = (ChromiumOptions<?>) profiled.merge(options);
+		if (!prefs.isEmpty()) {
+			merged.setExperimentalOption("prefs", prefs);
+		}
+		return merged;
+	}
+
+	private MutableCapabilities firefox(FirefoxOptions options) {
+		FirefoxOptions profiled = new FirefoxOptions();
+		profiled.setPageLoadStrategy(pageLoadStrategy);
+		profiled.addArguments("--width=" + WINDOW_WIDTH, "--height=" + WINDOW_HEIGHT);
+		if (headless) {
+			profiled.addArguments("-headless");
+		}
+		if (!images) {
+			profiled.addPreference("permissions.default.image", 2);
+		}
+		if (!extensions) {
+			// Fresh WebDriver profiles have no add-ons; this also stops system add-ons from updating
+			profiled.addPreference("extensions.update.enabled", false);
+			profiled.addPreference("xpinstall.enabled", false);
+		}
+		if (diskCacheBytes > 0) {
+			profiled.addPreference("browser.cache.disk.capacity", diskCacheBytes / 1024); // KB
+		}
+		if (consoleLogs) {
+			profiled.addPreference("devtools.console.stdout.content", true);
+		}
+		return profiled.merge(options);
+	}
+}
@@ -0,0 +1,148 @@
+package org.web.drivers;
+
+import org.openqa.selenium.MutableCapabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.edge.EdgeDriver;
+import org.openqa.selenium.edge.EdgeOptions;
+import org.openqa.selenium.firefox.FirefoxDriver;
+import org.openqa.selenium.firefox.FirefoxOptions;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+
+/**
+ * Central owner of WebDriver instances: one driver per thread, held in a ThreadLocal,
+ * so test methods can run with parallel="methods" without sharing a session.
+ *
+ * Drivers are leased from the {@link WebDriverPool} on first use and released by
+ * {@link DriverListener} once the test method (and its @AfterMethod, if any) has finished.
+ *
+ * Browser resolution order: explicit argument, the "browser" parameter in testng.xml,
+ * the -Dbrowser system property, then chrome.
+ */
+public final class DriverFactory {
+
+	private static final String DEFAULT_BROWSER = System.getProperty("browser", "chrome");
+
+	private static final ThreadLocal<WebDriver> DRIVER = new ThreadLocal<>();
+	private static final ThreadLocal<String> BROWSER = new ThreadLocal<>();
+
+	private DriverFactory() {
+	}
+
+	/**
+	 * Returns this thread's driver, leasing one for the current browser if the thread has none yet.
+	 */
+	public static WebDriver getDriver() {
+		return getDriver(getBrowser());
+	}
+
+	/**
+	 * Returns this thread's driver, leasing one for the given browser if the thread has none yet.
+	 */
+	public static WebDriver getDriver(String browser) {
+		WebDriver driver = DRIVER.get();
+		if (driver == null) {
+			return getDriver(browser, defaultOptions(browser));
+		}
+		return current(browser, driver);
+	}
+
+	/**
+	 * Returns this thread's driver, leasing one for the given browser and options if the thread has none yet.
+	 */
+	public static WebDriver getDriver(String browser, MutableCapabilities options) {
+		WebDriver driver = DRIVER.get();
+		if (driver == null) {
+			driver = WebDriverPool.lease(browser, options);
+			DRIVER.set(driver);
+			BROWSER.set(browser);
+			return driver;
+		}
+		return current(browser, driver);
+	}
+
+	public static boolean hasDriver() {
+		return DRIVER.get() != null;
+	}
+
+	/**
+	 * Browser of this thread's driver, or the browser the next driver will be created for.
+	 */
+	public static String getBrowser() {
+		String browser = BROWSER.get();
+		return browser != null ? browser : DEFAULT_BROWSER;
+	}
+
+	/**
+	 * Sets the browser for this thread's next driver (used by {@link DriverListener} for the testng.xml parameter).
+	 */
+	static void setBrowser(String browser) {
+		if (DRIVER.get() == null) {
+			BROWSER.set(browser);
+		}
+	}
+
+	/**
+	 * Releases this thread's driver back to the pool. Safe to call more than once.
+	 */
+	public static void quitDriver() {
+		WebDriver driver = DRIVER.get();
+		DRIVER.remove();
+		BROWSER.remove();
+		if (driver != null) {
+			NetworkBlocker blocker = NetworkBlocker.of(driver);
+			if (blocker != null && blocker.blockedCount() > 0) {
+				System.out.println("[NETWORK] Blocked " + blocker.resetCount() + " ad/tracker request(s).");
+			}
+			WebDriverPool.release(driver);
+		}
+	}
+
+	private static WebDriver current(String browser, WebDriver driver) {
+		if (!browser.equalsIgnoreCase(getBrowser())) {
+			throw new IllegalStateException("Thread already owns a " + getBrowser() + " driver; requested " + browser);
+		}
+		return driver;
+	}
+
+	/**
+	 * Browser selection: resolves the driver binary via WebDriverManager, starts the browser
+	 * and installs the {@link NetworkBlocker} ad/tracker filter.
+	 * Called by the pool; benchmarks use it for a dedicated session (end it with {@link WebDriverPool#release}).
+	 * The options are used as given: apply a {@link BrowserProfile} first.
+	 */
+	public static WebDriver newDriver(String browser, MutableCapabilities options) {
+		WebDriver driver;
+		if (browser.equalsIgnoreCase("chrome")) {
+			WebDriverManager.chromedriver().setup();
+			driver = new ChromeDriver((ChromeOptions) options);
+		} else if (browser.equalsIgnoreCase("firefox")) {
+			WebDriverManager.firefoxdriver().setup();
+			driver = new FirefoxDriver((FirefoxOptions) options);
+		} else if (browser.equalsIgnoreCase("edge")) {
+			WebDriverManager.edgedriver().setup();
+			driver = new EdgeDriver((EdgeOptions) options);
+		} else {
+			throw new IllegalArgumentException("Unsupported browser: " + browser);
+		}
+		NetworkBlocker.install(driver);
+		return driver;
+	}
+
+	static MutableCapabilities defaultOptions(String browser) {
+		if (browser.equalsIgnoreCase("chrome")) {
+			return new ChromeOptions();
+		} else if (browser.equalsIgnoreCase("firefox")) {
+			FirefoxOptions options = new FirefoxOptions();
+			if (NetworkBlocker.ENABLED) {
+				options.enableBiDi(); // request interception for NetworkBlocker
+			}
+			return options;
+		} else if (browser.equalsIgnoreCase("edge")) {
+			return new EdgeOptions();
+		}
+		throw new IllegalArgumentException("Unsupported browser: " + browser);
+	}
+}
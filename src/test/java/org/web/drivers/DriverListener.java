@@ -0,0 +1,34 @@
+package org.web.drivers;
+
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+
+/**
+ * Wires {@link DriverFactory} into the TestNG lifecycle. Registered in testng.xml.
+ *
+ * - Before any method: picks up the "browser" parameter (test or class level) for this thread.
+ * - After the test method, or after its @AfterMethod when the class has one (so teardown code such as
+ *   failure screenshots can still use the driver): releases the thread's driver back to the pool.
+ */
+public class DriverListener implements IInvokedMethodListener {
+
+	@Override
+	public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+		String browser = testResult.getTestClass().getXmlClass().getAllParameters().get("browser");
+		if (browser != null) {
+			DriverFactory.setBrowser(browser);
+		}
+	}
+
+	@Override
+	public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+		ITestNGMethod testMethod = method.getTestMethod();
+		boolean hasAfterMethod = testResult.getMethod().getTestClass().getAfterTestMethods().length > 0;
+
+		if ((method.isTestMethod() && !hasAfterMethod) || testMethod.isAfterMethodConfiguration()) {
+			DriverFactory.quitDriver();
+		}
+	}
+}
@@ -0,0 +1,223 @@
+package org.web.drivers;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.bidi.HasBiDi;
+import org.openqa.selenium.bidi.module.Network;
+import org.openqa.selenium.bidi.network.AddInterceptParameters;
+import org.openqa.selenium.bidi.network.ContinueRequestParameters;
+import org.openqa.selenium.bidi.network.InterceptPhase;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+
+/**
+ * Driver-level network filter: requests matching the blocklist (ads, analytics) are cancelled inside the
+ * browser before they are sent, so pages load faster and ad overlays cannot intercept clicks.
+ *
+ * - Chromium (Chrome/Edge): CDP Network.setBlockedURLs; the browser matches the patterns itself.
+ *   Blocked requests are counted from Network.loadingFailed events (blockedReason "inspector").
+ * - Firefox: WebDriver BiDi request interception (needs the webSocketUrl capability, set by
+ *   DriverFactory.defaultOptions); matching requests are failed, the others continued.
+ *
+ * The blocklist is src/test/resources/network-blocklist.txt ('*' wildcards, # comments).
+ * System properties: network.blocking (default true), network.blocklist (path to another list).
+ *
+ * {@link DriverFactory#newDriver} installs a blocker on every new session; it stays active across pool leases.
+ */
+public final class NetworkBlocker {
+
+	static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("network.blocking", "true"));
+	private static final String BLOCKLIST_RESOURCE = "network-blocklist.txt";
+
+	private static final Map<WebDriver, NetworkBlocker> INSTALLED = new ConcurrentHashMap<>();
+
+	private final List<String> patterns;
+	private final AtomicLong blocked = new AtomicLong();
+	private AutoCloseable connection;
+
+	private NetworkBlocker(List<String> patterns) {
+		this.patterns = Collections.unmodifiableList(new ArrayList<>(patterns));
+	}
+
+	/**
+	 * Installs the default blocklist on the driver.
+	 * @return the blocker, or null if blocking is disabled or the browser supports neither CDP nor BiDi.
+	 */
+	public static NetworkBlocker install(WebDriver driver) {
+		return install(driver, defaultBlocklist());
+	}
+
+	/**
+	 * Installs the given URL patterns on the driver, replacing any blocker it already has.
+	 * @return the blocker, or null if blocking is disabled or the browser supports neither CDP nor BiDi.
+	 */
+	public static NetworkBlocker install(WebDriver driver, List<String> patterns) {
+		if (!ENABLED || patterns.isEmpty()) {
+			return null;
+		}
+		uninstall(driver);
+
+		NetworkBlocker blocker = new NetworkBlocker(patterns);
+		if (driver instanceof HasCdp) {
+			blocker.installCdp(driver);
+		} else if (driver instanceof HasBiDi && ((HasBiDi) driver).maybeGetBiDi().isPresent()) {
+			blocker.installBiDi(driver);
+		} else {
+			System.out.println("[NETWORK] Request blocking not supported for this session (no CDP, no BiDi).");
+			return null;
+		}
+		INSTALLED.put(driver, blocker);
+		return blocker;
+	}
+
+	/**
+	 * The blocker installed on this driver, or null.
+	 */
+	public static NetworkBlocker of(WebDriver driver) {
+		return INSTALLED.get(driver);
+	}
+
+	/**
+	 * Forgets the driver's blocker and closes its event connection (call before quitting the session).
+	 */
+	static void uninstall(WebDriver driver) {
+		NetworkBlocker blocker = INSTALLED.remove(driver);
+		if (blocker != null && blocker.connection != null) {
+			try {
+				blocker.connection.close();
+			} catch (Exception e) {
+				// Session already gone
+			}
+		}
+	}
+
+	/**
+	 * Number of requests blocked since installation or the last {@link #resetCount()}.
+	 */
+	public long blockedCount() {
+		return blocked.get();
+	}
+
+	/**
+	 * @return the count before the reset.
+	 */
+	public long resetCount() {
+		return blocked.getAndSet(0);
+	}
+
+	public List<String> patterns() {
+		return patterns;
+	}
+
+	private void installCdp(WebDriver driver) {
+		Map<String, Object> urls = Map.of("urls", patterns);
+		try {
+			DevTools devTools = ((HasDevTools) driver).getDevTools();
+			devTools.createSessionIfThereIsNotOne();
+			devTools.send(new Command<Void>("Network.enable", Map.of()));
+			devTools.send(new Command<Void>("Network.setBlockedURLs", urls));
+			devTools.addListener(new Event<Map<String, Object>>("Network.loadingFailed", input -> input.read(Map.class)),
+					event -> {
+						if ("inspector".equals(event.get("blockedReason"))) {
+							blocked.incrementAndGet();
+						}
+					});
+			connection = devTools;
+		} catch (RuntimeException e) {
+			// No DevTools connection (e.g. remote grid without CDP proxy): still block, without counting
+			System.out.println("[NETWORK] DevTools unavailable, blocking without counting: " + e.getMessage());
+			((HasCdp) driver).executeCdpCommand("Network.enable", Map.of());
+			((HasCdp) driver).executeCdpCommand("Network.setBlockedURLs", urls);
+		}
+	}
+
+	private void installBiDi(WebDriver driver) {
+		List<Pattern> regexes = new ArrayList<>();
+		for (String pattern : patterns) {
+			regexes.add(globToRegex(pattern));
+		}
+
+		Network network = new Network(driver);
+		network.addIntercept(new AddInterceptParameters(InterceptPhase.BEFORE_REQUEST_SENT));
+		network.onBeforeRequestSent(event -> {
+			if (!event.isBlocked()) {
+				return;
+			}
+			String requestId = event.getRequest().getRequestId();
+			if (matches(regexes, event.getRequest().getUrl())) {
+				blocked.incrementAndGet();
+				network.failRequest(requestId);
+			} else {
+				network.continueRequest(new ContinueRequestParameters(requestId));
+			}
+		});
+		connection = network;
+	}
+
+	private static boolean matches(List<Pattern> regexes, String url) {
+		for (Pattern regex : regexes) {
+			if (regex.matcher(url).matches()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	// Same semantics as CDP's blocked URL patterns: '*' is a wildcard, everything else is literal
+	static Pattern globToRegex(String glob) {
+		StringBuilder regex = new StringBuilder();
+		for (String literal : glob.split("\\*", -1)) {
+			if (regex.length() > 0) {
+				regex.append(".*");
+			}
+			regex.append(Pattern.quote(literal));
+		}
+		return Pattern.compile(regex.toString());
+	}
+
+	/**
+	 * Patterns from -Dnetwork.blocklist, or the network-blocklist.txt test resource.
+	 */
+	static List<String> defaultBlocklist() {
+		String path = System.getProperty("network.blocklist");
+		try (InputStream in = path != null
+				? Files.newInputStream(Paths.get(path))
+				: NetworkBlocker.class.getClassLoader().getResourceAsStream(BLOCKLIST_RESOURCE)) {
+			if (in == null) {
+				return Collections.emptyList();
+			}
+			return parse(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+		} catch (IOException e) {
+			throw new IllegalStateException("Cannot read network blocklist " + (path != null ? path : BLOCKLIST_RESOURCE), e);
+		}
+	}
+
+	private static List<String> parse(BufferedReader reader) throws IOException {
+		List<String> patterns = new ArrayList<>();
+		String line;
+		while ((line = reader.readLine()) != null) {
+			line = line.trim();
+			if (!line.isEmpty() && !line.startsWith("#")) {
+				patterns.add(line);
+			}
+		}
+		return patterns;
+	}
+}
@@ -0,0 +1,210 @@
+package org.web.drivers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.MutableCapabilities;
+import org.openqa.selenium.NoAlertPresentException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+/**
+ * Pool of warm browser sessions keyed by browser type and capabilities.
+ * Tests lease a session instead of paying several seconds of browser startup per test method,
+ * and the session is reset (cookies, storage, extra windows, about:blank) when it is released.
+ *
+ * Tuning (system properties):
+ * - driver.pool.maxUses: a session is recycled (quit and replaced) after this many leases. Default 25.
+ * - driver.pool.maxIdle: idle sessions kept per key; extra sessions are quit on release. Default 4.
+ *
+ * {@link WebDriverPoolListener} calls {@link #shutdown()} at suite end.
+ */
+public final class WebDriverPool {
+
+	private static final int MAX_USES = Integer.getInteger("driver.pool.maxUses", 25);
+	private static final int MAX_IDLE = Integer.getInteger("driver.pool.maxIdle", 4);
+
+	private static final Map<String, BlockingDeque<PooledSession>> IDLE = new ConcurrentHashMap<>();
+	private static final Map<WebDriver, PooledSession> LEASED = new ConcurrentHashMap<>();
+
+	static {
+		// Safety net when the suite listener is not registered (e.g. running a single class from the IDE)
+		Runtime.getRuntime().addShutdownHook(new Thread(WebDriverPool::shutdown, "webdriver-pool-shutdown"));
+	}
+
+	private WebDriverPool() {
+	}
+
+	private static final class PooledSession {
+		final String key;
+		final WebDriver driver;
+		// The session's timeouts as started, restored on every release
+		final Duration implicitWait;
+		final Duration scriptTimeout;
+		final Duration pageLoadTimeout;
+		int uses;
+
+		PooledSession(String key, WebDriver driver) {
+			this.key = key;
+			this.driver = driver;
+			WebDriver.Timeouts timeouts = driver.manage().timeouts();
+			this.implicitWait = timeouts.getImplicitWaitTimeout();
+			this.scriptTimeout = timeouts.getScriptTimeout();
+			this.pageLoadTimeout = timeouts.getPageLoadTimeout();
+		}
+	}
+
+	/**
+	 * Leases a session with the browser's default options.
+	 */
+	public static WebDriver lease(String browser) {
+		return lease(browser, DriverFactory.defaultOptions(browser));
+	}
+
+	/**
+	 * Leases a warm session matching the browser and options (on top of the current {@link BrowserProfile}),
+	 * or starts a new one if none is idle. The caller owns the session exclusively until {@link #release(WebDriver)}.
+	 */
+	public static WebDriver lease(String browser, MutableCapabilities testOptions) {
+		MutableCapabilities options = BrowserProfile.current().apply(browser, testOptions);
+		String key = poolKey(browser, options);
+		BlockingDeque<PooledSession> idle = IDLE.computeIfAbsent(key, k -> new LinkedBlockingDeque<>());
+
+		PooledSession session;
+		while ((session = idle.pollFirst()) != null) {
+			if (isHealthy(session.driver)) {
+				break;
+			}
+			System.out.println("[DRIVER-POOL] Discarding unhealthy " + browser + " session.");
+			quietQuit(session.driver);
+		}
+		if (session == null) {
+			session = new PooledSession(key, DriverFactory.newDriver(browser, options));
+		}
+
+		session.uses++;
+		LEASED.put(session.driver, session);
+		return session.driver;
+	}
+
+	/**
+	 * Returns a leased session to the pool. The session is reset so the next test starts clean,
+	 * or quit if it is worn out, unhealthy, or the pool already holds enough idle sessions.
+	 * Drivers that were not leased from the pool are simply quit.
+	 */
+	public static void release(WebDriver driver) {
+		if (driver == null) {
+			return;
+		}
+		PooledSession session = LEASED.remove(driver);
+		if (session == null) {
+			quietQuit(driver);
+			return;
+		}
+
+		BlockingDeque<PooledSession> idle = IDLE.computeIfAbsent(session.key, k -> new LinkedBlockingDeque<>());
+		if (session.uses >= MAX_USES || idle.size() >= MAX_IDLE || !reset(session)) {
+			quietQuit(driver);
+			return;
+		}
+		idle.offerFirst(session); // LIFO keeps the warmest sessions in use
+	}
+
+	/**
+	 * Quits every pooled session, idle and leased.
+	 */
+	public static void shutdown() {
+		List<WebDriver> drivers = new ArrayList<>(LEASED.keySet());
+		LEASED.clear();
+		for (BlockingDeque<PooledSession> idle : IDLE.values()) {
+			PooledSession session;
+			while ((session = idle.pollFirst()) != null) {
+				drivers.add(session.driver);
+			}
+		}
+		if (!drivers.isEmpty()) {
+			System.out.println("[DRIVER-POOL] Shutting down " + drivers.size() + " session(s).");
+		}
+		drivers.parallelStream().forEach(WebDriverPool::quietQuit);
+	}
+
+	// Sorted so that equal capabilities always produce the same key
+	private static String poolKey(String browser, Capabilities options) {
+		return browser.toLowerCase() + new TreeMap<>(options.asMap());
+	}
+
+	private static boolean isHealthy(WebDriver driver) {
+		try {
+			driver.getWindowHandle();
+			return true;
+		} catch (Exception e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Brings a session back to a blank state: dismisses alerts, closes extra windows,
+	 * clears cookies and web storage, restores the implicit wait, script and page-load timeouts, and navigates
+	 * to about:blank.
+	 * @return false if the session could not be reset and must be discarded.
+	 */
+	private static boolean reset(PooledSession session) {
+		WebDriver driver = session.driver;
+		try {
+			try {
+				driver.switchTo().alert().dismiss();
+			} catch (NoAlertPresentException e) {
+				// Nothing to dismiss
+			}
+
+			Set<String> handles = driver.getWindowHandles();
+			String keep = handles.iterator().next();
+			for (String handle : handles) {
+				if (!handle.equals(keep)) {
+					driver.switchTo().window(handle).close();
+				}
+			}
+			driver.switchTo().window(keep);
+
+			// Storage is scoped to the current origin, so clear it before leaving the page
+			try {
+				((JavascriptExecutor) driver).executeScript(
+						"try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+			} catch (Exception e) {
+				// about:blank and some error pages have no storage
+			}
+			driver.manage().deleteAllCookies();
+			if (driver instanceof HasCdp) {
+				// Chromium: also drop cookies of every other domain visited during the test
+				((HasCdp) driver).executeCdpCommand("Network.clearBrowserCookies", Map.of());
+			}
+
+			driver.manage().timeouts().implicitlyWait(session.implicitWait)
+					.scriptTimeout(session.scriptTimeout)
+					.pageLoadTimeout(session.pageLoadTimeout);
+			driver.get("about:blank");
+			return true;
+		} catch (Exception e) {
+			System.out.println("[DRIVER-POOL] Reset failed, recycling session: " + e.getMessage());
+			return false;
+		}
+	}
+
+	private static void quietQuit(WebDriver driver) {
+		NetworkBlocker.uninstall(driver);
+		try {
+			driver.quit();
+		} catch (Exception e) {
+			// Session already gone
+		}
+	}
+}
@@ -0,0 +1,19 @@
+package org.web.drivers;
+
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.web.utilities.AccountPool;
+
+/**
+ * Shuts the {@link WebDriverPool} down once the whole suite has finished.
+ * The shared {@link AccountPool} goes first: deleting UI-provisioned accounts still needs browsers.
+ * Registered in testng.xml.
+ */
+public class WebDriverPoolListener implements ISuiteListener {
+
+	@Override
+	public void onFinish(ISuite suite) {
+		AccountPool.shutdownShared();
+		WebDriverPool.shutdown();
+	}
+}
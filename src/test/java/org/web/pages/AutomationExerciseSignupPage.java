@@ -1,12 +1,23 @@
 package org.web.pages;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
 import org.openqa.selenium.support.PageFactory;
 import org.openqa.selenium.support.ui.Select;
-import org.web.utilities.ReadProperties;
+import org.web.dataproviders.RegistrationData;
+import org.web.pages.Locators.AccountCreated;
+import org.web.pages.Locators.DeleteAccount;
+import org.web.pages.Locators.Header;
+import org.web.pages.Locators.Registration;
+import org.web.pages.Locators.SignupLogin;
+import org.web.utilities.FormFiller;
 
 public class AutomationExerciseSignupPage 
 {
@@ -26,117 +37,128 @@ public class AutomationExerciseSignupPage
 	WebElement signupEmail;
 
 	// using Page Factory
-	public void enter_signup_name_PF(String name) throws Exception {
+	public void enter_signup_name_PF(String name) {
 		signupName.sendKeys(name);
 	}
 	
-	public void enter_signup_email_PF(String email) throws Exception {
+	public void enter_signup_email_PF(String email) {
 		signupEmail.sendKeys(email);
 	}
 	
-	// using Object Repository
-	public void enter_signup_name(String name) throws Exception {
-		driver.findElement(By.cssSelector(
-				ReadProperties.readElementProperties("signup_name_css")))
-				.sendKeys(name);
+	// using Object Repository (typed constants generated from element.properties at build time)
+	public void enter_signup_name(String name) {
+		driver.findElement(SignupLogin.SIGNUP_NAME_CSS).sendKeys(name);
 	}
 	
-	public void enter_signup_email(String email) throws Exception {
-		driver.findElement(By.cssSelector(
-				ReadProperties.readElementProperties("signup_name_css")))
-				.sendKeys(email);
+	public void enter_signup_email(String email) {
+		driver.findElement(SignupLogin.SIGNUP_EMAIL_CSS).sendKeys(email);
 	}
 	
-	public void click_signup_btn() throws Exception {
-		driver.findElement(By.cssSelector(
-				ReadProperties.readElementProperties("signup_btn_css")))
-				.click();
+	public void click_signup_btn() {
+		driver.findElement(SignupLogin.SIGNUP_BTN_CSS).click();
 	}
 	
-	public void enter_login_email(String email) throws Exception {
-		driver.findElement(By.cssSelector(
-				ReadProperties.readElementProperties("login_email_css")))
-				.sendKeys(email);
+	public void enter_login_email(String email) {
+		driver.findElement(SignupLogin.LOGIN_EMAIL_CSS).sendKeys(email);
 	}
 	
-	public void enter_login_password(String password) throws Exception {
-		driver.findElement(By.cssSelector(
-				ReadProperties.readElementProperties("login_password_css")))
-				.sendKeys(password);
+	public void enter_login_password(String password) {
+		driver.findElement(SignupLogin.LOGIN_PASSWORD_CSS).sendKeys(password);
 	}
 	
-	public void click_login_btn() throws Exception {
-		driver.findElement(By.cssSelector(
-				ReadProperties.readElementProperties("login_btn_css")))
-				.click();
+	public void click_login_btn() {
+		driver.findElement(SignupLogin.LOGIN_BTN_CSS).click();
 	}
 
-	public void enter_signup_first_name(String firstName) throws Exception {
-		driver.findElement(By.id(
-				ReadProperties.readElementProperties("signup_first_name_id")))
-				.sendKeys(firstName);
+	public void enter_signup_first_name(String firstName) {
+		driver.findElement(Registration.SIGNUP_FIRST_NAME_ID).sendKeys(firstName);
 	}
 	
-	public void enter_signup_last_name(String lastName) throws Exception {
-		driver.findElement(By.id(
-				ReadProperties.readElementProperties("signup_last_name_id")))
-				.sendKeys(lastName);
+	public void enter_signup_last_name(String lastName) {
+		driver.findElement(Registration.SIGNUP_LAST_NAME_ID).sendKeys(lastName);
 	}
 	
-	public void enter_signup_password(String password) throws Exception {
-		driver.findElement(By.id(
-				ReadProperties.readElementProperties("signup_password_id")))
-				.sendKeys(password);
+	public void enter_signup_password(String password) {
+		driver.findElement(Registration.SIGNUP_PASSWORD_ID).sendKeys(password);
 	}
 	
-	public void enter_signup_address1(String address) throws Exception {
-		driver.findElement(By.id(
-				ReadProperties.readElementProperties("signup_address1_id")))
+	public void enter_signup_address1(String address) {
+		driver.findElement(Registration.SIGNUP_ADDRESS1_ID)
 				.sendKeys(address);
 	}
 	
-	public void select_signup_country(String country) throws Exception {
-		WebElement dropdown = driver.findElement(By.id(
-				ReadProperties.readElementProperties("signup_country_id")));
+	public void select_signup_country(String country) {
+		WebElement dropdown = driver.findElement(Registration.SIGNUP_COUNTRY_ID);
 		Select countrySelect = new Select(dropdown);
 		countrySelect.selectByValue(country);
 	}
 	
-	public void enter_signup_state(String state) throws Exception {
-		driver.findElement(By.id(
-				ReadProperties.readElementProperties("signup_state_id")))
-				.sendKeys(state);
+	public void enter_signup_state(String state) {
+		driver.findElement(Registration.SIGNUP_STATE_ID).sendKeys(state);
 	}
 	
-	public void enter_signup_city(String city) throws Exception {
-		driver.findElement(By.id(
-				ReadProperties.readElementProperties("signup_city_id")))
-				.sendKeys(city);
+	public void enter_signup_city(String city) {
+		driver.findElement(Registration.SIGNUP_CITY_ID).sendKeys(city);
 	}
 	
-	public void enter_signup_zipcode(String zipcode) throws Exception {
-		driver.findElement(By.id(
-				ReadProperties.readElementProperties("signup_zipcode_id")))
-				.sendKeys(zipcode);
+	public void enter_signup_zipcode(String zipcode) {
+		driver.findElement(Registration.SIGNUP_ZIPCODE_ID).sendKeys(zipcode);
 	}
-	public void enter_signup_mobile_number(String mobileNumber) throws Exception {
-		driver.findElement(By.id(
-				ReadProperties.readElementProperties("signup_mobile_number_id")))
-				.sendKeys(mobileNumber);
+	public void enter_signup_mobile_number(String mobileNumber) {
+		driver.findElement(Registration.SIGNUP_MOBILE_NUMBER_ID).sendKeys(mobileNumber);
 	}
 	
-	public void click_create_account_btn() throws Exception {
-		driver.findElement(By.cssSelector(
-				ReadProperties.readElementProperties("create_account_btn_css")))
-				.click();
+	// Batched form fill: registration data key -> field, in page order
+	private static final Map<String, By> ACCOUNT_INFORMATION_FIELDS = new LinkedHashMap<>();
+	static {
+		ACCOUNT_INFORMATION_FIELDS.put("password", Registration.SIGNUP_PASSWORD_ID);
+		ACCOUNT_INFORMATION_FIELDS.put("firstName", Registration.SIGNUP_FIRST_NAME_ID);
+		ACCOUNT_INFORMATION_FIELDS.put("lastName", Registration.SIGNUP_LAST_NAME_ID);
+		ACCOUNT_INFORMATION_FIELDS.put("address1", Registration.SIGNUP_ADDRESS1_ID);
+		ACCOUNT_INFORMATION_FIELDS.put("country", Registration.SIGNUP_COUNTRY_ID);
+		ACCOUNT_INFORMATION_FIELDS.put("state", Registration.SIGNUP_STATE_ID);
+		ACCOUNT_INFORMATION_FIELDS.put("city", Registration.SIGNUP_CITY_ID);
+		ACCOUNT_INFORMATION_FIELDS.put("zipcode", Registration.SIGNUP_ZIPCODE_ID);
+		ACCOUNT_INFORMATION_FIELDS.put("mobileNumber", Registration.SIGNUP_MOBILE_NUMBER_ID);
+	}
+
+	// Fields with per-keystroke handlers (autocomplete, input masks) that must be typed with sendKeys.
+	// None on the automationexercise registration form.
+	private static final Set<By> KEYSTROKE_SENSITIVE_FIELDS = Collections.emptySet();
+
+	/**
+	 * Fills every "Account Information" / "Address Information" field present in data in one script call.
+	 * Keys missing from data, or mapped to null, are left untouched.
+	 */
+	public void fill_account_information(Map<String, String> data) {
+		Map<By, String> values = new LinkedHashMap<>();
+		for (Map.Entry<String, By> field : ACCOUNT_INFORMATION_FIELDS.entrySet()) {
+			if (data.containsKey(field.getKey())) {
+				values.put(field.getValue(), data.get(field.getKey()));
+			}
+		}
+		fill_form(values, KEYSTROKE_SENSITIVE_FIELDS);
+	}
+
+	public void fill_account_information(RegistrationData data) {
+		fill_account_information(data.toMap());
+	}
+
+	/**
+	 * Sets any field -> value map in one script call (input/change events fire as for user input);
+	 * fields in keystrokeSensitive are typed with sendKeys instead.
+	 */
+	public void fill_form(Map<By, String> values, Set<By> keystrokeSensitive) {
+		FormFiller.fill(driver, values, keystrokeSensitive);
+	}
+
+	public void click_create_account_btn() {
+		driver.findElement(Registration.CREATE_ACCOUNT_BTN_CSS).click();
 	}
 	
-	public Boolean isAccountCreatedSuccessMessageDisplayed() throws Exception {
-		WebElement accountCreated = driver.findElement(By.cssSelector(
-				ReadProperties.readElementProperties("account_created_success_message_css")));		
-		String elementText = driver.findElement(By.xpath(
-				ReadProperties.readElementProperties("account_created_success_message_text_xpath")))
-				.getText();
+	public Boolean isAccountCreatedSuccessMessageDisplayed() {
+		WebElement accountCreated = driver.findElement(AccountCreated.ACCOUNT_CREATED_SUCCESS_MESSAGE_CSS);		
+		String elementText = driver.findElement(AccountCreated.ACCOUNT_CREATED_SUCCESS_MESSAGE_TEXT_XPATH).getText();
 		
 		if (accountCreated.isDisplayed() && elementText.equalsIgnoreCase("Account Created!")) {
 			return true;
@@ -144,37 +166,28 @@ public class AutomationExerciseSignupPage
 		return false;
 	}
 	
-	public void click_account_created_continue_button() throws Exception {
-		driver.findElement(By.cssSelector(
-				ReadProperties.readElementProperties("account_created_continue_btn_css")))
-				.click();
+	public void click_account_created_continue_button() {
+		driver.findElement(AccountCreated.ACCOUNT_CREATED_CONTINUE_BTN_CSS).click();
 	}
 	
-	public Boolean isCurrentUserDisplayed() throws Exception {
-		WebElement currentUser = driver.findElement(By.xpath(
-				ReadProperties.readElementProperties("header_current_user_xpath")));
+	public Boolean isCurrentUserDisplayed() {
+		WebElement currentUser = driver.findElement(Header.HEADER_CURRENT_USER_XPATH);
 		
 		return currentUser.isDisplayed();
 	}
 	
-	public String currentUserText() throws Exception {
-		WebElement currentUser = driver.findElement(By.xpath(
-				ReadProperties.readElementProperties("header_current_user_xpath")));
+	public String currentUserText() {
+		WebElement currentUser = driver.findElement(Header.HEADER_CURRENT_USER_XPATH);
 		return currentUser.getText();
 	}
 	
-	public void click_delete_account_link() throws Exception {
-		driver.findElement(By.xpath(
-				ReadProperties.readElementProperties("header_delete_account_link_xpath")))
-				.click();
+	public void click_delete_account_link() {
+		driver.findElement(Header.HEADER_DELETE_ACCOUNT_LINK_XPATH).click();
 	}
 	
-	public Boolean isAccountDeletedSuccessMessageDisplayed() throws Exception {
-		WebElement accountDeleted = driver.findElement(By.cssSelector(
-				ReadProperties.readElementProperties("account_deleted_success_message_css")));		
-		String elementText = driver.findElement(By.xpath(
-				ReadProperties.readElementProperties("account_deleted_success_message_text_xpath")))
-				.getText();
+	public Boolean isAccountDeletedSuccessMessageDisplayed() {
+		WebElement accountDeleted = driver.findElement(DeleteAccount.ACCOUNT_DELETED_SUCCESS_MESSAGE_CSS);		
+		String elementText = driver.findElement(DeleteAccount.ACCOUNT_DELETED_SUCCESS_MESSAGE_TEXT_XPATH).getText();
 				
 		if (accountDeleted.isDisplayed() && elementText.equalsIgnoreCase("Account Deleted!")) {
 			return true;
@@ -182,10 +195,8 @@ public class AutomationExerciseSignupPage
 		return false;
 	}
 	
-	public void click_account_deleted_continue_button() throws Exception {
-		driver.findElement(By.cssSelector(
-				ReadProperties.readElementProperties("account_deleted_continue_btn_css")))
-				.click();
+	public void click_account_deleted_continue_button() {
+		driver.findElement(DeleteAccount.ACCOUNT_DELETED_CONTINUE_BTN_CSS).click();
 	}
 }
 
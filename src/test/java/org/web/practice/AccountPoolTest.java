@@ -0,0 +1,154 @@
+package org.web.practice;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.web.dataproviders.RegistrationData;
+import org.web.dataproviders.UserFixtureFactory;
+import org.web.utilities.AccountPool;
+import org.web.utilities.DatabaseUtil;
+import org.web.utilities.SnapshotUserRepository;
+
+/**
+ * AccountPool with local (users table) accounts: exclusive leases, reset and replacement on return,
+ * background replenishment and dry-pool statistics. No browser needed.
+ */
+public class AccountPoolTest {
+
+	private static final int THREADS = 8;
+	private static final int LEASES_PER_THREAD = 50;
+
+	/**
+	 * Local accounts with a simulated signup delay; resets fail for accounts flagged as broken.
+	 */
+	private static final class SlowProvisioner extends AccountPool.LocalProvisioner {
+		final AtomicInteger resets = new AtomicInteger();
+		final Set<String> broken = ConcurrentHashMap.newKeySet();
+
+		@Override
+		public RegistrationData create(RegistrationData user) {
+			try {
+				Thread.sleep(5);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return super.create(user);
+		}
+
+		@Override
+		public void reset(RegistrationData account) {
+			if (broken.remove(account.email())) {
+				throw new IllegalStateException("account locked");
+			}
+			resets.incrementAndGet();
+			super.reset(account);
+		}
+	}
+
+	private static AccountPool pool(AccountPool.Provisioner provisioner, int size) {
+		UserFixtureFactory fixtures = UserFixtureFactory.shared();
+		return new AccountPool("test", provisioner, fixtures::next, size, Duration.ofSeconds(30));
+	}
+
+	private static void awaitIdle(AccountPool pool, int accounts) throws InterruptedException {
+		long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+		while (pool.stats().idle < accounts && System.nanoTime() < deadline) {
+			Thread.sleep(10);
+		}
+	}
+
+	@Test
+	public void failedResetIsNotUndoneBySnapshotRestore() throws Exception {
+		SlowProvisioner provisioner = new SlowProvisioner();
+		AccountPool pool = pool(provisioner, 1);
+		String email;
+		// The lease is returned inside a test's snapshot; the destroy must happen outside it
+		SnapshotUserRepository.Snapshot snapshot = DatabaseUtil.snapshot();
+		try {
+			try (AccountPool.Lease lease = pool.lease()) {
+				email = lease.account().email();
+				provisioner.broken.add(email);
+			}
+		} finally {
+			DatabaseUtil.restore(snapshot);
+		}
+
+		try (AccountPool.Lease lease = pool.lease()) {
+			Assert.assertNotEquals(lease.account().email(), email, "A replacement account is provisioned");
+		}
+		Assert.assertFalse(DatabaseUtil.verifyUserCreated(email), "The restore must not bring the destroyed account back");
+		pool.shutdown();
+	}
+
+	@Test
+	public void leasesAreExclusive() throws Exception {
+		SlowProvisioner provisioner = new SlowProvisioner();
+		AccountPool pool = pool(provisioner, 4);
+		Set<String> inUse = ConcurrentHashMap.newKeySet();
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+		List<Future<?>> results = new ArrayList<>();
+		for (int t = 0; t < THREADS; t++) {
+			results.add(executor.submit(() -> {
+				start.await();
+				for (int i = 0; i < LEASES_PER_THREAD; i++) {
+					try (AccountPool.Lease lease = pool.lease()) {
+						String email = lease.account().email();
+						Assert.assertTrue(inUse.add(email), "Account leased twice: " + email);
+						Assert.assertTrue(DatabaseUtil.verifyUserCreated(email));
+						Thread.sleep(1);
+						inUse.remove(email);
+					}
+				}
+				return null;
+			}));
+		}
+		start.countDown();
+		for (Future<?> result : results) {
+			result.get();
+		}
+		executor.shutdown();
+		awaitIdle(pool, 4); // Returned accounts are reset in the background
+
+		AccountPool.Stats stats = pool.stats();
+		System.out.println("\n*** AccountPool: " + stats + " ***");
+		Assert.assertEquals(stats.leases, THREADS * LEASES_PER_THREAD);
+		Assert.assertEquals(provisioner.resets.get(), THREADS * LEASES_PER_THREAD, "Every return resets the account");
+		Assert.assertTrue(stats.ranDry > 0, "8 threads on 4 accounts must run the pool dry");
+		Assert.assertTrue(stats.provisioned <= 4 + stats.discarded, "Returned accounts are reused, not re-created");
+		Assert.assertEquals(stats.leased, 0);
+
+		pool.shutdown();
+		Assert.assertEquals(pool.stats().idle, 0, "Shutdown destroys idle accounts");
+	}
+
+	@Test
+	public void failedResetReplacesAccount() throws Exception {
+		SlowProvisioner provisioner = new SlowProvisioner();
+		AccountPool pool = pool(provisioner, 1);
+		String email;
+		try (AccountPool.Lease lease = pool.lease()) {
+			email = lease.account().email();
+			provisioner.broken.add(email);
+		}
+
+		try (AccountPool.Lease lease = pool.lease()) {
+			Assert.assertNotEquals(lease.account().email(), email, "A replacement account is provisioned");
+		}
+		// The background thread destroyed it before provisioning the replacement
+		Assert.assertFalse(DatabaseUtil.verifyUserCreated(email), "Broken account must be destroyed");
+		Assert.assertEquals(pool.stats().discarded, 1);
+		pool.shutdown();
+	}
+}
@@ -0,0 +1,104 @@
+package org.web.practice;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.web.utilities.ApiStandIn;
+
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * ApiStandIn against a local fake of the statement API: record once, then replay with the upstream gone.
+ * No browser or network needed.
+ */
+public class ApiStandInTest {
+
+	private static final String STATEMENT = "<html><head></head><body>{\"result\":{\"statements\":[]},"
+			+ "\"message\":{\"ErrorCode:\":0,\"ErrorMsg:\":\"Success\"}}</body></html>";
+
+	private final HttpClient client = HttpClient.newHttpClient();
+
+	private HttpResponse<String> get(String uri) throws IOException, InterruptedException {
+		return client.send(HttpRequest.newBuilder(URI.create(uri)).GET().build(),
+				HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+	}
+
+	// Echoes the account number in an HTML-wrapped body, like the guru99 endpoint
+	private static HttpServer fakeUpstream(AtomicInteger calls) throws IOException {
+		HttpServer upstream = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+		upstream.createContext("/V4/sinkministatement.php", http -> {
+			calls.incrementAndGet();
+			String query = http.getRequestURI().getQuery();
+			byte[] body = (query.contains("Account_No=1") ? STATEMENT : "<html><body>NoData</body></html>")
+					.getBytes(StandardCharsets.UTF_8);
+			http.getResponseHeaders().set("Content-Type", "text/html; charset=UTF-8");
+			http.sendResponseHeaders(200, body.length);
+			try (OutputStream out = http.getResponseBody()) {
+				out.write(body);
+			}
+		});
+		upstream.start();
+		return upstream;
+	}
+
+	@Test(description = "Recorded responses are replayed byte for byte, matched by query parameters in any order")
+	public void testRecordThenReplay() throws Exception {
+		Path recordings = Files.createTempDirectory("api-recordings");
+		AtomicInteger upstreamCalls = new AtomicInteger();
+		HttpServer upstream = fakeUpstream(upstreamCalls);
+		URI upstreamUri = URI.create("http://" + upstream.getAddress().getAddress().getHostAddress() + ":"
+				+ upstream.getAddress().getPort());
+
+		try (ApiStandIn recorder = new ApiStandIn(ApiStandIn.Mode.RECORD, upstreamUri, recordings)) {
+			String base = recorder.baseUri() + "/V4/sinkministatement.php";
+			Assert.assertEquals(get(base + "?CUSTOMER_ID=68195&PASSWORD=1234%21&Account_No=1").body(), STATEMENT);
+			Assert.assertTrue(get(base + "?CUSTOMER_ID=68195&PASSWORD=1234%21&Account_No=99999").body().contains("NoData"));
+			Assert.assertEquals(recorder.recordedCount(), 2);
+		} finally {
+			upstream.stop(0);
+		}
+		Assert.assertEquals(upstreamCalls.get(), 2);
+		Assert.assertTrue(Files.isRegularFile(recordings.resolve("V4/sinkministatement.php.json")));
+
+		try (ApiStandIn replay = new ApiStandIn(ApiStandIn.Mode.REPLAY, upstreamUri, recordings)) {
+			String base = replay.baseUri() + "/V4/sinkministatement.php";
+			HttpResponse<String> statement = get(base + "?Account_No=1&PASSWORD=1234!&CUSTOMER_ID=68195");
+			Assert.assertEquals(statement.statusCode(), 200);
+			Assert.assertEquals(statement.body(), STATEMENT);
+			Assert.assertEquals(statement.headers().firstValue("Content-Type").orElse(null), "text/html; charset=UTF-8");
+
+			Assert.assertEquals(get(base + "?CUSTOMER_ID=68195&PASSWORD=1234!&Account_No=2").statusCode(), 404,
+					"Unrecorded query parameters must not match");
+
+			long start = System.nanoTime();
+			for (int i = 0; i < 200; i++) {
+				Assert.assertEquals(get(base + "?CUSTOMER_ID=68195&PASSWORD=1234!&Account_No=1").body(), STATEMENT);
+			}
+			System.out.printf("[API-STANDIN] 200 replays in %.1f ms%n", (System.nanoTime() - start) / 1e6);
+		}
+		Assert.assertEquals(upstreamCalls.get(), 2, "Replay must not call the upstream");
+	}
+
+	@Test(description = "The committed statement recordings load and keep the HTML-wrapped JSON")
+	public void testCommittedRecordings() throws Exception {
+		try (ApiStandIn replay = new ApiStandIn(ApiStandIn.Mode.REPLAY, URI.create("https://demo.guru99.com"),
+				Paths.get(ApiStandIn.DEFAULT_RECORDINGS_DIR))) {
+			String body = get(replay.baseUri() + "/V4/sinkministatement.php?CUSTOMER_ID=68195&PASSWORD=1234!&Account_No=1")
+					.body();
+			Assert.assertTrue(body.startsWith("<html>") && body.contains("\"statements\""), body);
+		}
+	}
+}
@@ -14,6 +14,7 @@ import static io.restassured.module.jsv.JsonSchemaValidator.matchesJsonSchemaInC
 import org.testng.Assert;
 import org.testng.annotations.BeforeSuite;
 import org.testng.annotations.Test;
+import org.web.utilities.ApiStandIn;
 
 import java.util.UUID;
 import java.net.ConnectException;
@@ -22,11 +23,9 @@ import java.util.Map;
 
 public class ApiTestSuite {
 
-	// Base URL for the demo site
+	// Base URL for the demo site; replaced by the local stand-in unless -Dapi.mode=live (see ApiStandIn)
 	private final String MOCK_BASE_URI = "https://demo.guru99.com/V4";
-	// private final String STATEMENT_ENDPOINT_PATH = "/sinkministatement.php";
-
-	final static String URL = "https://demo.guru99.com/V4/sinkministatement.php";
+	private static final String STATEMENT_ENDPOINT_PATH = "/sinkministatement.php";
 
 	// Valid Parameters for positive testing
 	private static final String VALID_CUSTOMER_ID = "68195";
@@ -47,8 +46,8 @@ public class ApiTestSuite {
 	// =========================================================================
 	@BeforeSuite
 	public void setupAndAuth() {
-		// Set the base URI once for all tests
-		RestAssured.baseURI = MOCK_BASE_URI;
+		// Set the base URI once for all tests: the recorded stand-in by default, the demo site with -Dapi.mode=live
+		RestAssured.baseURI = ApiStandIn.resolve(MOCK_BASE_URI);
 		obtainAuthToken();
 	}
 
@@ -133,11 +132,11 @@ public class ApiTestSuite {
 					.queryParam("PASSWORD", VALID_PASSWORD)
 					.queryParam("Account_No", VALID_ACCOUNT_NO)
 					.when()
-					.get(URL);
+					.get(STATEMENT_ENDPOINT_PATH);
 		} catch(Exception e) {
 			// Check specifically for network issues like Connection refused
             if (e.getCause() instanceof ConnectException || (e.getMessage() != null && e.getMessage().contains("Connection refused"))) {
-                System.err.println("ERROR: Connection Refused. The target server " + MOCK_BASE_URI + " is unreachable or down.");
+                System.err.println("ERROR: Connection Refused. The target server " + RestAssured.baseURI + " is unreachable or down.");
                 System.err.println("This is a network issue. Please check the server status outside of your test code.");
                 Assert.fail("Test failed due to external Connection Refused error.", e);
             }
@@ -186,11 +185,11 @@ public class ApiTestSuite {
 					.queryParam("PASSWORD", VALID_PASSWORD)
 					.queryParam("Account_No", INVALID_ACCOUNT_NO) // Using invalid account number
 					.when()
-					.get(URL);
+					.get(STATEMENT_ENDPOINT_PATH);
 		} catch (Exception e) {
 			// Check specifically for network issues like Connection refused
             if (e.getCause() instanceof ConnectException || (e.getMessage() != null && e.getMessage().contains("Connection refused"))) {
-                System.err.println("ERROR: Connection Refused. The target server " + MOCK_BASE_URI + " is unreachable or down.");
+                System.err.println("ERROR: Connection Refused. The target server " + RestAssured.baseURI + " is unreachable or down.");
                 System.err.println("This is a network issue. Please check the server status outside of your test code.");
                 Assert.fail("Test failed due to external Connection Refused error.", e);
             }
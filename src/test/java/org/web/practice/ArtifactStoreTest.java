@@ -0,0 +1,86 @@
+package org.web.practice;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.web.utilities.ArtifactStore;
+
+/**
+ * ArtifactStore on a temporary directory: content-addressed dedup, LRU eviction and the index across reopens.
+ * No browser needed.
+ */
+public class ArtifactStoreTest {
+
+	private static final Duration MAX_AGE = Duration.ofDays(7);
+
+	// Distinct content of a fixed size, so eviction limits can be counted in objects
+	private static byte[] content(char fill, int size) {
+		return String.valueOf(fill).repeat(size).getBytes(StandardCharsets.US_ASCII);
+	}
+
+	@Test
+	public void identicalBytesShareOneObject() throws Exception {
+		ArtifactStore store = ArtifactStore.open(Files.createTempDirectory("artifacts"), MAX_AGE, 1 << 20);
+		byte[] screenshot = content('a', 100);
+
+		ArtifactStore.Entry first = store.put(screenshot, "png", "testA", "chrome", "failure");
+		ArtifactStore.Entry second = store.put(screenshot, "png", "testB", "firefox", "failure");
+		Assert.assertEquals(second.path(), first.path());
+		Assert.assertEquals(second.sha256(), first.sha256());
+		Assert.assertEquals(store.objectCount(), 1);
+		Assert.assertEquals(store.totalBytes(), 100);
+
+		ArtifactStore.Entry asText = store.put(screenshot, "txt", "testA", "chrome", "log");
+		Assert.assertNotEquals(asText.path(), first.path(), "Another extension is another object");
+		Assert.assertTrue(asText.path().toString().endsWith(".txt"));
+		Assert.assertEquals(store.objectCount(), 2);
+	}
+
+	@Test
+	public void evictsLeastRecentlyUsedFirst() throws Exception {
+		ArtifactStore store = ArtifactStore.open(Files.createTempDirectory("artifacts"), MAX_AGE, 250);
+		ArtifactStore.Entry a = store.put(content('a', 100), "png", "testA", "chrome", "failure");
+		ArtifactStore.Entry b = store.put(content('b', 100), "png", "testB", "chrome", "failure");
+		store.find("testA", null); // A is now more recently used than B
+
+		ArtifactStore.Entry c = store.put(content('c', 100), "png", "testC", "chrome", "failure");
+		Assert.assertFalse(Files.exists(b.path()), "The least recently used object is evicted");
+		Assert.assertTrue(Files.exists(a.path()));
+		Assert.assertTrue(Files.exists(c.path()));
+		Assert.assertEquals(store.objectCount(), 2);
+		Assert.assertEquals(store.totalBytes(), 200);
+		Assert.assertTrue(store.find("testB", null).isEmpty(), "Index entries of evicted objects are dropped");
+	}
+
+	@Test
+	public void indexSurvivesReopen() throws Exception {
+		Path root = Files.createTempDirectory("artifacts");
+		ArtifactStore store = ArtifactStore.open(root, MAX_AGE, 1 << 20);
+		ArtifactStore.Entry older = store.put(content('a', 100), "png", "testA", "chrome", "failure");
+		Thread.sleep(20); // Distinct modification times, which keep the LRU order across reopens
+		ArtifactStore.Entry newer = store.put(content('b', 100), "html", "testA", "edge", "page-source");
+
+		ArtifactStore reopened = ArtifactStore.open(root, MAX_AGE, 1 << 20);
+		Assert.assertEquals(reopened.objectCount(), 2);
+		Assert.assertEquals(reopened.totalBytes(), 200);
+		List<ArtifactStore.Entry> found = reopened.find("testA", null);
+		Assert.assertEquals(found.size(), 2);
+		Assert.assertEquals(found.get(0).toString(), newer.toString(), "Newest first");
+		Assert.assertEquals(found.get(0).extension(), "html");
+		Assert.assertEquals(found.get(1).toString(), older.toString());
+		Assert.assertEquals(reopened.find("testA", "edge").size(), 1);
+
+		// Reopening with less room evicts the older object and rewrites the index without it
+		ArtifactStore smaller = ArtifactStore.open(root, MAX_AGE, 150);
+		Assert.assertEquals(smaller.objectCount(), 1);
+		Assert.assertFalse(Files.exists(older.path()));
+		List<ArtifactStore.Entry> left = ArtifactStore.open(root, MAX_AGE, 1 << 20).find("testA", null);
+		Assert.assertEquals(left.size(), 1);
+		Assert.assertEquals(left.get(0).path(), newer.path());
+	}
+}
@@ -0,0 +1,108 @@
+package org.web.practice;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.zip.CRC32C;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.web.utilities.ChecksumEngine;
+import org.web.utilities.ChecksumEngine.Algorithm;
+import org.web.utilities.ChecksumEngine.Checksums;
+
+/**
+ * ChecksumEngine against MessageDigest/CRC32C on files of every read path: empty, small, several direct-buffer
+ * reads, one memory-mapped window and several windows. No browser needed.
+ */
+public class ChecksumEngineTest {
+
+	private static final int MB = 1 << 20;
+
+	private Path dir;
+	// file -> its content's size; the content itself is regenerated from the seed
+	private final Map<Path, Integer> files = new LinkedHashMap<>();
+
+	private static byte[] content(int size) {
+		byte[] bytes = new byte[size];
+		new Random(size).nextBytes(bytes);
+		return bytes;
+	}
+
+	@BeforeClass
+	public void writeFiles() throws Exception {
+		dir = Files.createTempDirectory("checksums");
+		// Empty, small, just over the 1 MB buffer, 16 MB mmap threshold, over one 64 MB window
+		for (int size : new int[] { 0, 1_000, MB + 7, 16 * MB, 64 * MB + 3 }) {
+			Path file = dir.resolve(size + ".bin");
+			try (OutputStream out = Files.newOutputStream(file)) {
+				out.write(content(size));
+			}
+			files.put(file, size);
+		}
+	}
+
+	@AfterClass(alwaysRun = true)
+	public void deleteFiles() throws Exception {
+		for (Path file : files.keySet()) {
+			Files.deleteIfExists(file);
+		}
+		Files.deleteIfExists(dir);
+	}
+
+	private static void assertMatchesReference(Checksums actual, byte[] content, String label) throws Exception {
+		HexFormat hex = HexFormat.of();
+		CRC32C crc = new CRC32C();
+		crc.update(content);
+		Assert.assertEquals(actual.size(), content.length, label + " size");
+		Assert.assertEquals(actual.get(Algorithm.SHA256),
+				hex.formatHex(MessageDigest.getInstance("SHA-256").digest(content)), label + " SHA-256");
+		Assert.assertEquals(actual.get(Algorithm.MD5), hex.formatHex(MessageDigest.getInstance("MD5").digest(content)),
+				label + " MD5");
+		Assert.assertEquals(actual.get(Algorithm.CRC32C), String.format("%08x", crc.getValue()), label + " CRC32C");
+	}
+
+	@Test
+	public void computeMatchesMessageDigest() throws Exception {
+		for (Map.Entry<Path, Integer> file : files.entrySet()) {
+			Checksums checksums = ChecksumEngine.compute(file.getKey(), Algorithm.SHA256, Algorithm.MD5, Algorithm.CRC32C);
+			assertMatchesReference(checksums, content(file.getValue()), file.getKey().getFileName().toString());
+		}
+	}
+
+	@Test
+	public void computeAllMatchesCompute() throws Exception {
+		Map<Path, Checksums> all = ChecksumEngine.computeAll(files.keySet(), Algorithm.SHA256, Algorithm.MD5,
+				Algorithm.CRC32C);
+		Assert.assertEquals(List.copyOf(all.keySet()), List.copyOf(files.keySet()), "Results in the given order");
+		for (Map.Entry<Path, Integer> file : files.entrySet()) {
+			assertMatchesReference(all.get(file.getKey()), content(file.getValue()), file.getKey().getFileName().toString());
+		}
+
+		Map<Path, String> expected = new LinkedHashMap<>();
+		all.forEach((path, checksums) -> expected.put(path, checksums.get(Algorithm.SHA256)));
+		Assert.assertTrue(ChecksumEngine.verifyAll(expected).isEmpty());
+		Path small = dir.resolve("1000.bin");
+		expected.put(small, all.get(dir.resolve("0.bin")).get(Algorithm.SHA256));
+		Assert.assertEquals(ChecksumEngine.verifyAll(expected), List.of(small));
+	}
+
+	@Test
+	public void multiDigestInChunksMatchesOnePass() throws Exception {
+		byte[] content = content(MB + 7);
+		ChecksumEngine.MultiDigest digest = new ChecksumEngine.MultiDigest(Algorithm.SHA256, Algorithm.MD5,
+				Algorithm.CRC32C);
+		for (int offset = 0; offset < content.length; offset += 4093) {
+			digest.update(content, offset, Math.min(4093, content.length - offset));
+		}
+		assertMatchesReference(digest.finish(), content, "chunked");
+	}
+}
@@ -0,0 +1,66 @@
+package org.web.practice;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.web.utilities.DownloadWatcher;
+
+/**
+ * DownloadWatcher on a temporary directory, simulating the two ways a download lands: a partial file renamed
+ * when done (Chrome's .crdownload), and a file written directly under its final name. No browser needed.
+ */
+public class DownloadWatcherTest {
+
+	private static final byte[] CHUNK = new byte[64 * 1024];
+
+	@Test
+	public void renamedPartialFileCompletesOnRename() throws Exception {
+		Path dir = Files.createTempDirectory("downloads");
+		try (DownloadWatcher watcher = DownloadWatcher.watch(dir)) {
+			CompletableFuture<Path> download = watcher.expect("report.pdf", Duration.ofSeconds(10));
+			Path partial = dir.resolve("report.pdf.crdownload");
+			try (OutputStream out = Files.newOutputStream(partial)) {
+				out.write(CHUNK);
+			}
+			Files.write(dir.resolve("report.pdf"), new byte[0]); // Final name appears while the partial file exists
+			Thread.sleep(1_500);
+			Assert.assertFalse(download.isDone(), "Not complete while the partial file exists");
+
+			Files.move(partial, dir.resolve("report.pdf"), StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+			// Well under the 1 s stability window: the rename itself signals completion
+			Path file = download.get(900, TimeUnit.MILLISECONDS);
+			Assert.assertEquals(file, dir.resolve("report.pdf"));
+			Assert.assertEquals(Files.size(file), CHUNK.length);
+		}
+	}
+
+	@Test
+	public void fileWrittenUnderFinalNameCompletesOnceStable() throws Exception {
+		Path dir = Files.createTempDirectory("downloads");
+		try (DownloadWatcher watcher = DownloadWatcher.watch(dir)) {
+			CompletableFuture<Path> download = watcher.expect("data.csv", Duration.ofSeconds(10));
+			try (OutputStream out = Files.newOutputStream(dir.resolve("data.csv"))) {
+				for (int i = 0; i < 8; i++) {
+					out.write(CHUNK);
+					out.flush();
+					Thread.sleep(200);
+					Assert.assertFalse(download.isDone(), "Completed while still being written (chunk " + i + ")");
+				}
+			}
+			long written = System.nanoTime();
+
+			Path file = download.get(5, TimeUnit.SECONDS);
+			Assert.assertEquals(Files.size(file), 8L * CHUNK.length, "Completed before the last write");
+			Assert.assertTrue(System.nanoTime() - written >= TimeUnit.MILLISECONDS.toNanos(500),
+					"Completed without waiting for the size to settle");
+		}
+	}
+}
@@ -5,16 +5,21 @@ import org.openqa.selenium.By;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.remote.LocalFileDetector;
 import org.openqa.selenium.remote.RemoteWebDriver;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
+import org.web.drivers.DriverFactory;
+import org.web.utilities.ChecksumEngine.Algorithm;
+import org.web.utilities.ChecksumEngine.Checksums;
 import org.web.utilities.FileVerificationUtils;
+import org.web.utilities.StreamingDownloadVerifier;
 import org.testng.Assert;
 import org.testng.annotations.AfterClass;
+import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 import java.awt.*;
@@ -25,21 +30,23 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 public class FileUploadDownloadTests {
 
-	private WebDriver driver;
 	private Path tempDownloadDir;
 
 	@BeforeClass
-	public void setup() throws IOException {
+	public void createDownloadDir() throws IOException {
 		// Setup specific download folder for verification
 		tempDownloadDir = FileVerificationUtils.createTempDownloadDir();
+	}
 
+	@BeforeMethod
+	public void setup() {
 		// Configure Chrome to download to our temp dir automatically
 		ChromeOptions options = new ChromeOptions();
 		Map<String, Object> prefs = new HashMap<>();
@@ -48,7 +55,7 @@ public class FileUploadDownloadTests {
 		prefs.put("safebrowsing.enabled", true);
 		options.setExperimentalOption("prefs", prefs);
 
-		driver = new ChromeDriver(options);
+		DriverFactory.getDriver("chrome", options); // One driver per thread, safe for parallel methods
 	}
 
 	/**
@@ -57,6 +64,7 @@ public class FileUploadDownloadTests {
 	 */
 	@Test(enabled = true)
 	public void testStandardFileUpload() {
+		WebDriver driver = DriverFactory.getDriver();
 		driver.get("https://the-internet.herokuapp.com/upload");
 
 		/*
@@ -96,6 +104,7 @@ public class FileUploadDownloadTests {
 	 */
 	@Test(enabled = true)
 	public void testNativeDialogUpload() throws AWTException, InterruptedException {
+		WebDriver driver = DriverFactory.getDriver();
 		// Navigate to web page and complete the from up until file input.
 		driver.get("https://automationexercise.com/contact_us");
 		driver.findElement(By.xpath("//input[@name='name'][@type='text']")).sendKeys("Doug Dimmadome");
@@ -150,13 +159,17 @@ public class FileUploadDownloadTests {
 	 * (c) Verify Download by Size and Hash
 	 */
 	@Test(enabled = true)
-	public void testFileDownloadVerification() throws IOException, NoSuchAlgorithmException {
+	public void testFileDownloadVerification() {
+		WebDriver driver = DriverFactory.getDriver();
 		driver.get("https://the-internet.herokuapp.com/download");
 
 		// For this demo, finds the first link that has a txt file and use that
 		WebElement firstDownloadLink = driver.findElement(By.xpath("//a[contains(text(), '.txt')]"));
 		String actualFileName = firstDownloadLink.getText();
 
+		// Start hashing before the click: the file is hashed while the browser writes it
+		CompletableFuture<Checksums> streamed = StreamingDownloadVerifier.start(tempDownloadDir, actualFileName,
+				Duration.ofSeconds(10), Algorithm.SHA256);
 		firstDownloadLink.click();
 
 		// Wait for file to land in our custom temp dir
@@ -165,13 +178,15 @@ public class FileUploadDownloadTests {
 		Assert.assertNotNull(downloadedFile, "File was not downloaded within timeout");
 
 		// Assert Size > 0
-		long fileSize = downloadedFile.length();
+		Checksums checksums = streamed.join();
+		long fileSize = checksums.size();
 		System.out.println("Downloaded file size: " + fileSize + " bytes");
 		Assert.assertTrue(fileSize > 0, "File is empty");
+		Assert.assertEquals(fileSize, downloadedFile.length(), "Hashed size differs from the file on disk");
 
 		// Assert Integrity (Checksum)
 		// In a real test, you would know the 'expected' hash beforehand.
-		String calculatedHash = FileVerificationUtils.getFileChecksum(downloadedFile);
+		String calculatedHash = checksums.get(Algorithm.SHA256);
 		System.out.println("SHA-256 Hash: " + calculatedHash);
 
 		// Example assertion (Using a fake hash here, replace with real one for actual test)
@@ -180,11 +195,13 @@ public class FileUploadDownloadTests {
 		Assert.assertNotNull(calculatedHash, "Hash calculation failed");
 	}
 
+	@AfterMethod
+	public void teardown() {
+		DriverFactory.quitDriver();
+	}
+
 	@AfterClass
-	public void teardown() throws IOException {
-		if (driver != null) {
-			driver.quit();
-		}
+	public void cleanUpDownloadDir() throws IOException {
 		// Cleanup the temp directory
 		FileVerificationUtils.cleanUpDirectory(tempDownloadDir);
 	}
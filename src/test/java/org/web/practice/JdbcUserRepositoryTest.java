@@ -0,0 +1,122 @@
+package org.web.practice;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.web.utilities.JdbcUserRepository;
+import org.web.utilities.UserRecord;
+
+/**
+ * The H2 users table: bulk seeding volume and contested inserts through the connection pool. No browser needed.
+ *
+ * Tuning: -Dstress.seedRows (default 50000).
+ */
+public class JdbcUserRepositoryTest {
+
+	private static final int SEED_ROWS = Integer.getInteger("stress.seedRows", 50_000);
+	private static final int THREADS = 8;
+	private static final int SHARED_EMAILS = 500;
+
+	private JdbcUserRepository repository;
+
+	@BeforeClass
+	public void openDatabase() {
+		repository = new JdbcUserRepository("jdbc:h2:mem:users_test;DB_CLOSE_DELAY=-1", "sa", "", 4);
+	}
+
+	@BeforeMethod
+	public void emptyTable() {
+		repository.clear();
+	}
+
+	@AfterClass(alwaysRun = true)
+	public void closeDatabase() {
+		repository.close();
+	}
+
+	@Test
+	public void bulkSeedSkipsExistingRows() {
+		List<UserRecord> users = new ArrayList<>();
+		for (int i = 0; i < SEED_ROWS; i++) {
+			users.add(UserRecord.active("bulk" + i + "@test.com", "pw", i % 10 == 0 ? "ADMIN" : "USER"));
+		}
+
+		long begin = System.nanoTime();
+		int inserted = repository.seedAll(users);
+		long nanos = System.nanoTime() - begin;
+		System.out.printf("%n*** H2 bulk seed: %,d rows in %.0f ms (%,.0f rows/s) ***%n", SEED_ROWS, nanos / 1e6,
+				SEED_ROWS / (nanos / 1e9));
+
+		Assert.assertEquals(inserted, SEED_ROWS);
+		Assert.assertEquals(repository.seedAll(users.subList(0, 2_000)), 0, "Second seed must not overwrite");
+		Assert.assertEquals(repository.size(), SEED_ROWS);
+		Assert.assertEquals(repository.findByRole("ADMIN").size(), SEED_ROWS / 10);
+		Assert.assertEquals(repository.get("bulk42@test.com"), users.get(42));
+	}
+
+	@Test
+	public void crudRoundTrip() {
+		UserRecord user = UserRecord.active("crud@test.com", "pw", "USER");
+		Assert.assertTrue(repository.insertIfAbsent(user));
+		Assert.assertFalse(repository.insertIfAbsent(user.withStatus("LOCKED")), "Duplicate email must be rejected");
+		Assert.assertEquals(repository.get(user.email()).status(), UserRecord.STATUS_ACTIVE);
+
+		repository.upsert(user.withStatus("VERIFIED"));
+		Assert.assertEquals(repository.findByStatus("VERIFIED"), List.of(user.withStatus("VERIFIED")));
+
+		Assert.assertTrue(repository.delete(user.email()));
+		Assert.assertFalse(repository.contains(user.email()));
+		Assert.assertNull(repository.get(user.email()));
+		Assert.assertTrue(repository.isConnected());
+	}
+
+	@Test
+	public void concurrentSeedersClaimEachEmailOnce() throws Exception {
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+		List<Future<Integer>> results = new ArrayList<>();
+		for (int t = 0; t < THREADS; t++) {
+			int thread = t;
+			results.add(executor.submit((Callable<Integer>) () -> {
+				start.await();
+				int claimed = 0;
+				// Half the threads race row by row, the other half with overlapping batches
+				if (thread % 2 == 0) {
+					for (int i = 0; i < SHARED_EMAILS; i++) {
+						if (repository.insertIfAbsent(UserRecord.active("shared" + i + "@test.com", "pw", "USER"))) {
+							claimed++;
+						}
+					}
+				} else {
+					List<UserRecord> batch = new ArrayList<>();
+					for (int i = SHARED_EMAILS - 1; i >= 0; i--) {
+						batch.add(UserRecord.active("shared" + i + "@test.com", "pw", "ADMIN"));
+					}
+					claimed += repository.seedAll(batch);
+				}
+				return claimed;
+			}));
+		}
+
+		start.countDown();
+		int claimed = 0;
+		for (Future<Integer> result : results) {
+			claimed += result.get();
+		}
+		executor.shutdown();
+
+		Assert.assertEquals(claimed, SHARED_EMAILS, "Each shared email must be claimed exactly once");
+		Assert.assertEquals(repository.size(), SHARED_EMAILS);
+	}
+}
@@ -1,5 +1,6 @@
 package org.web.practice;
 
+import java.io.IOException;
 import java.nio.file.Paths;
 import java.time.Duration;
 import java.util.function.Function;
@@ -9,20 +10,22 @@ import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.StaleElementReferenceException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.edge.EdgeDriver;
 import org.openqa.selenium.support.ui.FluentWait;
 import org.openqa.selenium.support.ui.Wait;
+import org.testng.Assert;
 import org.testng.annotations.Test;
+import org.web.drivers.DriverFactory;
+import org.web.utilities.DomWait;
+import org.web.utilities.VirtualClock;
 
 public class LoadingSpinnerDynamicWait {
 
 	@Test(enabled = true)
 	public void loadingSpinner() {
-		WebDriver driver = null;
 		try {
 			System.out.println("\n*** Dynamic Wait: Test start! ***");
 
-			driver = new EdgeDriver();
+			WebDriver driver = DriverFactory.getDriver("edge"); // Released by DriverListener after the test
 
 			// Platform independent file location
 			String RELATIVE_HTML_PATH = "src/test/resources/LoadingSpinnerWebPage.html";
@@ -106,11 +109,57 @@ public class LoadingSpinnerDynamicWait {
 		} catch (Exception e) {
 			System.err.println("An unexpected error occurred during the test execution: " + e.getMessage());
 			e.printStackTrace();
-		} finally {
-			if (driver != null) {
-				driver.quit();
-			}
 		}
 
 	}
+
+	/**
+	 * Same scenario using the event-driven DomWait: a MutationObserver inside the page resolves the wait
+	 * as soon as #myDiv becomes visible, in one WebDriver command instead of one per 500 ms poll.
+	 */
+	@Test(enabled = true)
+	public void loadingSpinnerEventDrivenWait() {
+		System.out.println("\n*** Dynamic Wait (MutationObserver): Test start! ***");
+		WebDriver driver = DriverFactory.getDriver("edge");
+		driver.get(Paths.get("src/test/resources/LoadingSpinnerWebPage.html").toUri().toString());
+
+		Assert.assertTrue(driver.findElement(By.id("loader")).isDisplayed(), "The loader spinner should be visible immediately.");
+		Assert.assertFalse(driver.findElement(By.id("myDiv")).isDisplayed(), "The textbox should be hidden initially.");
+
+		long start = System.nanoTime();
+		WebElement textBox = DomWait.untilVisible(driver, By.id("myDiv"), Duration.ofSeconds(10));
+		DomWait.untilHidden(driver, By.id("loader"), Duration.ofSeconds(1));
+		System.out.println("PASS: #myDiv visible and #loader hidden after " + (System.nanoTime() - start) / 1_000_000 + " ms.");
+
+		Assert.assertEquals(textBox.findElement(By.tagName("h2")).getText(), "Tada!");
+		Assert.assertEquals(textBox.findElement(By.tagName("p")).getText(), "Some text in my newly loaded page..");
+	}
+
+	/**
+	 * Same checks on virtual time: the page's setTimeout(showPage, 3000) is fast-forwarded by VirtualClock,
+	 * so the timer-gated states are verified in milliseconds instead of 3 real seconds.
+	 */
+	@Test(enabled = true)
+	public void loadingSpinnerVirtualTime() throws IOException {
+		System.out.println("\n*** Dynamic Wait (virtual time): Test start! ***");
+		WebDriver driver = DriverFactory.getDriver("edge");
+
+		long start = System.nanoTime();
+		try (VirtualClock clock = VirtualClock.openFixture(driver, Paths.get("src/test/resources/LoadingSpinnerWebPage.html"))) {
+			Assert.assertTrue(driver.findElement(By.id("loader")).isDisplayed(), "The loader spinner should be visible immediately.");
+			Assert.assertFalse(driver.findElement(By.id("myDiv")).isDisplayed(), "The textbox should be hidden initially.");
+
+			// One millisecond before the delay nothing has changed yet
+			clock.advance(Duration.ofMillis(2999));
+			Assert.assertTrue(driver.findElement(By.id("loader")).isDisplayed(), "The loader spinner should still be visible at 2999 ms.");
+
+			clock.advance(Duration.ofMillis(1));
+			WebElement textBox = driver.findElement(By.id("myDiv"));
+			Assert.assertFalse(driver.findElement(By.id("loader")).isDisplayed(), "The loading spinner should be hidden after the content loads.");
+			Assert.assertTrue(textBox.isDisplayed(), "The textbox should be visible after the content loads.");
+			Assert.assertEquals(textBox.findElement(By.tagName("h2")).getText(), "Tada!");
+			Assert.assertEquals(textBox.findElement(By.tagName("p")).getText(), "Some text in my newly loaded page..");
+		}
+		System.out.println("PASS: 3 s of page time verified in " + (System.nanoTime() - start) / 1_000_000 + " ms.");
+	}
 }
@@ -1,60 +1,50 @@
 package org.web.practice;
 
 import java.time.Duration;
-import java.util.Map;
-import java.util.UUID;
 
-import org.openqa.selenium.Dimension;
-import org.openqa.selenium.ElementClickInterceptedException;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
 import org.testng.Assert;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
+import org.web.dataproviders.RegistrationData;
 import org.web.dataproviders.UserDataProvider;
+import org.web.drivers.DriverFactory;
 import org.web.pages.AutomationExerciseSignupPage;
+import org.web.utilities.AccountPool;
 import org.web.utilities.DatabaseUtil;
+import org.web.utilities.SnapshotUserRepository;
 
 public class RegistrationTests {
 
-	WebDriver driver;
-	AutomationExerciseSignupPage signupPage;
-	
-    // Store email at class level for @AfterMethod rollback
-    ThreadLocal<String> currentTestEmail = new ThreadLocal<>();
+    // DB restore point per test thread, rolled back in @AfterMethod (covers every row the test wrote)
+    ThreadLocal<SnapshotUserRepository.Snapshot> dbSnapshot = new ThreadLocal<>();
 
     
-    // Initialize Driver
+    // Initialize this thread's Driver (leased from the pool by DriverFactory)
     @BeforeMethod
     public void setup() {
-        driver = new ChromeDriver();
+        dbSnapshot.set(DatabaseUtil.snapshot());
+
+        WebDriver driver = DriverFactory.getDriver("chrome");
         driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(3)); // Implicit wait
 
-        /**
-         * Browser window not maximum because footer ad cannot be interacted with, shadowrootmode="closed".
-         * If it were shadowrootmode="open", you could use element.getShadowRoot() in Selenium 4+ to gain access.
-         * Setting the browser window size is a workaround to no display the ad.
-         */
-        driver.manage().window().setSize(new Dimension(1000, 800));
-        
+        // No window-size workaround for the footer ad (shadowrootmode="closed"): NetworkBlocker
+        // cancels the ad requests, so nothing can overlay the form buttons.
         driver.get("https://automationexercise.com/login");
-        
-        signupPage = new AutomationExerciseSignupPage(driver);
-        
     }
     
     
     @Test(dataProvider = "registrationData", dataProviderClass = UserDataProvider.class)
-    public void testUserRegistration(Map<String, String> data) throws Exception
+    public void testUserRegistration(RegistrationData data)
     {
+        AutomationExerciseSignupPage signupPage = new AutomationExerciseSignupPage(DriverFactory.getDriver());
+        
     	// --- 1. Data Preparation (Fixture Factory) ---
-        // We take the template from JSON and make it unique to avoid collisions
-        String uniqueId = UUID.randomUUID().toString().substring(0, 5);
-        String uniqueEmail = data.get("firstName") + uniqueId + "@test.com";
-        currentTestEmail.set(uniqueEmail); // Save for teardown
+        // The data provider stamps every row with a collision-free email (UserFixtureFactory)
+        String uniqueEmail = data.email();
         
-        System.out.println("Starting Test: " + data.get("scenarioName") + " with Email: " + uniqueEmail);
+        System.out.println("Starting Test: " + data.scenarioName() + " with Email: " + uniqueEmail);
         
         // --- 2. Database Pre-Condition (Optional Seeding) ---
         // Ensure this email strictly DOES NOT exist before we start
@@ -63,24 +53,12 @@ public class RegistrationTests {
         }
         
         // --- 3. WebDriver UI Actions (Selenium) ---
-        signupPage.enter_signup_name(data.get("firstName"));
+        signupPage.enter_signup_name(data.firstName());
         signupPage.enter_signup_email_PF(uniqueEmail);
         signupPage.click_signup_btn();
-        signupPage.enter_signup_password(data.get("password"));
-        signupPage.enter_signup_first_name(data.get("firstName"));
-        signupPage.enter_signup_last_name(data.get("lastName"));
-        signupPage.enter_signup_address1(data.get("address1"));
-        signupPage.select_signup_country(data.get("country"));
-        signupPage.enter_signup_state(data.get("state"));
-        signupPage.enter_signup_city(data.get("city"));
-        signupPage.enter_signup_zipcode(data.get("zipcode"));
-        signupPage.enter_signup_mobile_number(data.get("mobileNumber"));
+        signupPage.fill_account_information(data); // all address/account fields in one script call
         
-        try {
-        	signupPage.click_create_account_btn();
-        } catch (ElementClickInterceptedException e){
-        	System.out.println("FAIL: Click action intercepted by an advertisement.");
-        }
+        signupPage.click_create_account_btn();
         
         // --- 4. UI Assertion ---
         Assert.assertTrue(signupPage.isAccountCreatedSuccessMessageDisplayed());
@@ -88,7 +66,7 @@ public class RegistrationTests {
         System.out.println("[UI-LOG] Registered user via UI");
         
         // Simulate the backend creating the user (Because we don't have a real app connected)
-        DatabaseUtil.seedUser(uniqueEmail, data.get("password"), data.get("role"));
+        DatabaseUtil.seedUser(uniqueEmail, data.password(), data.role());
 
         // --- 5. Database Post-Condition Assertion ---
         // Verify the application actually wrote to the DB
@@ -107,8 +85,8 @@ public class RegistrationTests {
         Assert.assertTrue(signupPage.isCurrentUserDisplayed());
         Assert.assertEquals(
         		signupPage.currentUserText(), // Actual string
-        		"Logged in as " + data.get("firstName"), // Expected string
-        		"'Current logged in user, " + data.get("firstName") + "' should be displayed."); // Error message
+        		"Logged in as " + data.firstName(), // Expected string
+        		"'Current logged in user, " + data.firstName() + "' should be displayed."); // Error message
         
         signupPage.click_delete_account_link();
         
@@ -120,16 +98,36 @@ public class RegistrationTests {
     }
     
     
+    // Login only: a pre-provisioned account from the AccountPool instead of the signup/delete flow
+    @Test
+    public void testLoginWithPooledAccount()
+    {
+        AutomationExerciseSignupPage signupPage = new AutomationExerciseSignupPage(DriverFactory.getDriver());
+
+        try (AccountPool.Lease lease = AccountPool.shared().lease()) {
+            RegistrationData account = lease.account();
+            System.out.println("Starting Test: login with pooled account " + account.email());
+
+            signupPage.enter_login_email(account.email());
+            signupPage.enter_login_password(account.password());
+            signupPage.click_login_btn();
+
+            Assert.assertTrue(signupPage.isCurrentUserDisplayed());
+            Assert.assertEquals(signupPage.currentUserText(), "Logged in as " + account.firstName());
+            Assert.assertTrue(DatabaseUtil.verifyUserCreated(account.email()), "Pooled account missing from the DB");
+        }
+    }
+    
+    
     // Transactional Rollback/Cleanup 
     @AfterMethod
     public void tearDown() {
-        // Regardless of test pass/fail, clean the data
-        if (currentTestEmail.get() != null) {
-            DatabaseUtil.deleteUser(currentTestEmail.get());
-        }  
-        if (driver != null) {
-            driver.quit();
+        // Regardless of test pass/fail, discard the data
+        if (dbSnapshot.get() != null) {
+            DatabaseUtil.restore(dbSnapshot.get());
+            dbSnapshot.remove();
         }
+        DriverFactory.quitDriver(); // Reset and return the session to the pool for the next data row
     }
     
 }
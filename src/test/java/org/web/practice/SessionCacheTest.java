@@ -0,0 +1,169 @@
+package org.web.practice;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Optional;
+import org.testng.annotations.Parameters;
+import org.testng.annotations.Test;
+import org.web.drivers.DriverFactory;
+import org.web.utilities.SessionCache;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * SessionCache against a local site whose login sets a cookie, localStorage and sessionStorage.
+ * Each open() runs on a fresh pooled session (reset between leases), so a logged-in page after a reuse
+ * proves the cached state was injected. Runs in each browser of the cross-browser tests: CDP injection on
+ * Chrome/Edge, the /favicon.ico fallback on Firefox.
+ */
+public class SessionCacheTest {
+
+	private HttpServer site;
+	private String base;
+	private String browser;
+	private final AtomicInteger logins = new AtomicInteger();
+	// sid cookie value -> user; clearing it is a server-side logout
+	private final Map<String, String> sessions = new ConcurrentHashMap<>();
+
+	@BeforeClass
+	@Parameters("browser")
+	public void startSite(@Optional String browser) throws IOException {
+		this.browser = browser == null ? DriverFactory.getBrowser() : browser;
+		site = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+		site.createContext("/login", this::login);
+		site.createContext("/home", this::home);
+		site.createContext("/favicon.ico", http -> respond(http, "text/plain", ""));
+		site.start();
+		base = "http://" + site.getAddress().getAddress().getHostAddress() + ":" + site.getAddress().getPort();
+	}
+
+	@AfterClass(alwaysRun = true)
+	public void stopSite() {
+		if (site != null) {
+			site.stop(0);
+		}
+	}
+
+	// /login?user=U[&ttl=SECONDS]: sets the session cookie and both storages
+	private void login(HttpExchange http) throws IOException {
+		Map<String, String> query = new HashMap<>();
+		for (String pair : http.getRequestURI().getRawQuery().split("&")) {
+			String[] nameValue = pair.split("=", 2);
+			query.put(nameValue[0], URLDecoder.decode(nameValue[1], StandardCharsets.UTF_8));
+		}
+		String sid = UUID.randomUUID().toString();
+		sessions.put(sid, query.get("user"));
+		logins.incrementAndGet();
+		String ttl = query.get("ttl");
+		http.getResponseHeaders().add("Set-Cookie", "sid=" + sid + "; Path=/" + (ttl == null ? "" : "; Max-Age=" + ttl));
+		respond(http, "text/html; charset=UTF-8", "<html><body><p id=\"done\">logged in</p><script>"
+				+ "localStorage.setItem('theme', 'dark'); sessionStorage.setItem('tab', 'overview');"
+				+ "</script></body></html>");
+	}
+
+	// Shows the cookie's user and, via a page script, what the storages held when the page loaded
+	private void home(HttpExchange http) throws IOException {
+		String user = "";
+		String cookies = http.getRequestHeaders().getFirst("Cookie");
+		if (cookies != null) {
+			for (String cookie : cookies.split(";\\s*")) {
+				if (cookie.startsWith("sid=")) {
+					user = sessions.getOrDefault(cookie.substring(4), "");
+				}
+			}
+		}
+		respond(http, "text/html; charset=UTF-8", "<html><body><p id=\"user\">" + user + "</p>"
+				+ "<p id=\"theme\"></p><p id=\"tab\"></p><script>"
+				+ "document.getElementById('theme').textContent = localStorage.getItem('theme') || '';"
+				+ "document.getElementById('tab').textContent = sessionStorage.getItem('tab') || '';"
+				+ "</script></body></html>");
+	}
+
+	private static void respond(HttpExchange http, String contentType, String body) throws IOException {
+		byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+		http.getResponseHeaders().set("Content-Type", contentType);
+		http.sendResponseHeaders(200, bytes.length == 0 ? -1 : bytes.length);
+		if (bytes.length > 0) {
+			try (OutputStream out = http.getResponseBody()) {
+				out.write(bytes);
+			}
+		}
+		http.close();
+	}
+
+	private Consumer<WebDriver> loginFlow(String user, String ttl) {
+		return driver -> {
+			driver.get(base + "/login?user=" + user + (ttl == null ? "" : "&ttl=" + ttl));
+			driver.get(base + "/home");
+		};
+	}
+
+	private static Predicate<WebDriver> loggedIn(String user) {
+		return driver -> user.equals(driver.findElement(By.id("user")).getText());
+	}
+
+	// One open() on a freshly reset session; returns whether the cache was used
+	private boolean open(String user, String ttl) {
+		try {
+			WebDriver driver = DriverFactory.getDriver(browser);
+			boolean reused = SessionCache.open(driver, browser, user, loginFlow(user, ttl), loggedIn(user));
+			Assert.assertEquals(driver.findElement(By.id("user")).getText(), user, "Not logged in after open()");
+			Assert.assertEquals(driver.findElement(By.id("theme")).getText(), "dark", "localStorage missing");
+			Assert.assertEquals(driver.findElement(By.id("tab")).getText(), "overview", "sessionStorage missing");
+			return reused;
+		} finally {
+			DriverFactory.quitDriver();
+		}
+	}
+
+	@Test
+	public void secondSessionReusesTheFirst() {
+		String user = "reuse-" + browser;
+		int before = logins.get();
+		Assert.assertFalse(open(user, null), "The first open logs in");
+		Assert.assertTrue(open(user, null), "The second open injects the cached session");
+		Assert.assertEquals(logins.get() - before, 1, "Logged in through the form once");
+
+		SessionCache.invalidate(browser, user);
+		Assert.assertFalse(open(user, null), "An invalidated entry logs in again");
+	}
+
+	@Test
+	public void expiredSessionLogsInAgain() throws InterruptedException {
+		String user = "expiry-" + browser;
+		int before = logins.get();
+		Assert.assertFalse(open(user, "2"));
+		Thread.sleep(2_500); // Past the cookie's expiry, which caps the entry's lifetime
+		Assert.assertFalse(open(user, "2"), "An expired entry is not reused");
+		Assert.assertEquals(logins.get() - before, 2);
+	}
+
+	@Test
+	public void serverLogoutInvalidatesTheEntry() {
+		String user = "logout-" + browser;
+		int before = logins.get();
+		Assert.assertFalse(open(user, null));
+		sessions.clear(); // The server forgets every session
+		Assert.assertFalse(open(user, null), "A logged-out entry falls back to the login flow");
+		Assert.assertTrue(open(user, null), "The fresh login is cached again");
+		Assert.assertEquals(logins.get() - before, 2);
+	}
+}
@@ -0,0 +1,155 @@
+package org.web.practice;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.web.utilities.SnapshotUserRepository;
+import org.web.utilities.UserRecord;
+import org.web.utilities.UserStore;
+
+/**
+ * Snapshot/restore of the users table: writes reach the shared table, restore undoes them, nesting, and a
+ * global check-and-insert across parallel threads. No browser needed.
+ */
+public class SnapshotUserRepositoryTest {
+
+	private static final int THREADS = 8;
+	private static final int ROWS_PER_TEST = 100_000;
+
+	private static SnapshotUserRepository seededRepository(UserStore table) {
+		SnapshotUserRepository repository = new SnapshotUserRepository(table);
+		repository.upsert(UserRecord.active("admin@test.com", "pw", "ADMIN"));
+		repository.upsert(UserRecord.active("user@test.com", "pw", "USER"));
+		return repository;
+	}
+
+	@Test
+	public void restoreUndoesEveryWrite() {
+		UserStore table = new UserStore();
+		SnapshotUserRepository repository = seededRepository(table);
+		SnapshotUserRepository.Snapshot baseline = repository.snapshot();
+
+		for (int i = 0; i < ROWS_PER_TEST; i++) {
+			Assert.assertTrue(repository.insertIfAbsent(UserRecord.active("row" + i + "@test.com", "pw", "USER")));
+		}
+		repository.upsert(UserRecord.active("admin@test.com", "pw", "ADMIN").withStatus("LOCKED"));
+		repository.upsert(UserRecord.active("admin@test.com", "pw", "ADMIN").withStatus("DISABLED"));
+		Assert.assertTrue(repository.delete("user@test.com"));
+		Assert.assertEquals(table.size(), ROWS_PER_TEST + 1, "Writes go to the shared table");
+		Assert.assertEquals(repository.findByRole("USER").size(), ROWS_PER_TEST);
+		Assert.assertEquals(table.get("admin@test.com").status(), "DISABLED");
+
+		long begin = System.nanoTime();
+		repository.restore(baseline);
+		long nanos = System.nanoTime() - begin;
+		System.out.printf("%n*** Snapshot restore of %,d touched rows: %.3f ms ***%n", ROWS_PER_TEST + 2, nanos / 1e6);
+
+		Assert.assertFalse(repository.inSnapshot());
+		Assert.assertEquals(table.size(), 2);
+		Assert.assertEquals(table.get("admin@test.com").status(), UserRecord.STATUS_ACTIVE);
+		Assert.assertTrue(table.contains("user@test.com"));
+		Assert.assertFalse(table.contains("row0@test.com"));
+	}
+
+	@Test
+	public void nestedSnapshots() {
+		SnapshotUserRepository repository = seededRepository(new UserStore());
+		SnapshotUserRepository.Snapshot outer = repository.snapshot();
+		try {
+			repository.upsert(UserRecord.active("outer@test.com", "pw", "USER"));
+
+			SnapshotUserRepository.Snapshot inner = repository.snapshot();
+			repository.upsert(UserRecord.active("admin@test.com", "pw", "ADMIN").withStatus("LOCKED"));
+			Assert.assertTrue(repository.delete("user@test.com"));
+			Assert.assertTrue(repository.delete("outer@test.com"));
+			repository.upsert(UserRecord.active("inner@test.com", "pw", "ADMIN"));
+			Assert.assertEquals(repository.findByRole("ADMIN").size(), 2);
+			Assert.assertThrows(IllegalStateException.class, repository::clear);
+
+			repository.restore(inner);
+			Assert.assertEquals(repository.size(), 3);
+			Assert.assertEquals(repository.get("admin@test.com").status(), UserRecord.STATUS_ACTIVE);
+			Assert.assertTrue(repository.contains("user@test.com"));
+			Assert.assertTrue(repository.contains("outer@test.com"));
+			Assert.assertFalse(repository.contains("inner@test.com"));
+			repository.restore(inner); // Restoring twice is a no-op
+			Assert.assertTrue(repository.inSnapshot());
+		} finally {
+			repository.restore(outer);
+		}
+		Assert.assertEquals(repository.size(), 2);
+	}
+
+	@Test
+	public void insertIfAbsentStaysGlobalAcrossSnapshots() throws Exception {
+		UserStore table = new UserStore();
+		SnapshotUserRepository repository = seededRepository(table);
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		AtomicInteger holders = new AtomicInteger();
+
+		List<Future<Integer>> results = new ArrayList<>();
+		for (int t = 0; t < THREADS; t++) {
+			int thread = t;
+			results.add(executor.submit((Callable<Integer>) () -> {
+				start.await();
+				int wins = 0;
+				for (int test = 0; test < 100; test++) {
+					SnapshotUserRepository.Snapshot snapshot = repository.snapshot();
+					boolean won = false;
+					try {
+						String own = "t" + thread + "-" + test + "@test.com";
+						Assert.assertTrue(repository.insertIfAbsent(UserRecord.active(own, "pw", "USER")));
+						Assert.assertTrue(table.contains(own), "Rows are written to the shared table");
+						// Every test races for the same email: at most one snapshot may hold it at a time
+						won = repository.insertIfAbsent(UserRecord.active("same@test.com", "pw", "T" + thread));
+						if (won) {
+							Assert.assertEquals(holders.incrementAndGet(), 1, "Two threads inserted the same email");
+							wins++;
+						}
+					} finally {
+						if (won) {
+							holders.decrementAndGet();
+						}
+						repository.restore(snapshot);
+					}
+				}
+				return wins;
+			}));
+		}
+
+		start.countDown();
+		int wins = 0;
+		for (Future<Integer> result : results) {
+			wins += result.get();
+		}
+		executor.shutdown();
+		Assert.assertTrue(wins > 0);
+		Assert.assertEquals(table.size(), 2, "Every thread's rows are undone");
+		Assert.assertFalse(table.contains("same@test.com"));
+	}
+
+	@Test(expectedExceptions = IllegalStateException.class)
+	public void snapshotCannotBeRestoredFromAnotherThread() throws Throwable {
+		SnapshotUserRepository repository = seededRepository(new UserStore());
+		SnapshotUserRepository.Snapshot snapshot = repository.snapshot();
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			executor.submit(() -> repository.restore(snapshot)).get();
+		} catch (ExecutionException e) {
+			throw e.getCause();
+		} finally {
+			repository.restore(snapshot);
+			executor.shutdown();
+		}
+	}
+}
@@ -1,30 +1,30 @@
 package org.web.practice;
 
 import java.time.Duration;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.openqa.selenium.By;
-import org.openqa.selenium.Dimension;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.SearchContext;
-import org.openqa.selenium.edge.EdgeDriver;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.testng.Assert;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
+import org.web.drivers.DriverFactory;
+import org.web.utilities.DomSnapshot;
 
 public class TrickyLocators {	
 	
-	private WebDriver driver;
-	
 	@BeforeMethod
 	public void setup() {
-		driver = new EdgeDriver();
+		WebDriver driver = DriverFactory.getDriver("edge"); // One driver per thread, safe for parallel methods
 		driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(3));
 		driver.manage().window().maximize();
 	}
@@ -59,6 +59,7 @@ public class TrickyLocators {
 	
 	@Test(enabled = true)
 	public void trickyLocatorsL1() {
+		WebDriver driver = DriverFactory.getDriver();
 		System.out.println("\n*** Tricky Locator 1 ***");
 		initAmazon(driver);
 
@@ -79,16 +80,29 @@ public class TrickyLocators {
 	 */
 	final By L2_TABLE_ROW_BY_DYNAMIC_ID = By.cssSelector("tr[id^='product']");
 
+	// One cart row, as read by DomSnapshot
+	static final class CartItem {
+		final WebElement row;
+		final String description;
+		final String price;
+		final String quantity;
+		final String total;
+
+		CartItem(WebElement row, String description, String price, String quantity, String total) {
+			this.row = row;
+			this.description = description;
+			this.price = price;
+			this.quantity = quantity;
+			this.total = total;
+		}
+	}
+
 	@Test(enabled = true)
 	public void trickyLocatorL2() {
+		WebDriver driver = DriverFactory.getDriver();
 		System.out.println("\n*** Tricky Locator 2 ***");
 		
-		/**
-         * Browser window not maximum because footer ad cannot be interacted with, shadowrootmode="closed".
-         * If it were shadowrootmode="open", you could use element.getShadowRoot() in Selenium 4+ to gain access.
-         * Setting the browser window size is a workaround to no display the ad.
-         */
-		driver.manage().window().setSize(new Dimension(800, 800));
+		// The footer ad (shadowrootmode="closed") is blocked by NetworkBlocker, so no window-size workaround is needed
 		driver.get("https://automationexercise.com/products");
 
 		By cartBtnXpath = By.xpath("//div[@class='productinfo text-center']/a");
@@ -115,18 +129,24 @@ public class TrickyLocators {
 		Assert.assertFalse(driver.findElement(emptyCartTextboxId).isDisplayed(),
 				"FAILED: Cart should be contain products.");
 		
-		List<WebElement> products = driver.findElements(L2_TABLE_ROW_BY_DYNAMIC_ID);
-		if (!products.isEmpty()) {
-			for (WebElement p: products) {
-				System.out.println("\n*** Product Info ***");
-				System.out.println("Description: " + p.findElement(cartDescClass).getText());
-				System.out.println("Price: " + p.findElement(cartPriceClass).getText());
-				System.out.println("Quantity: " + p.findElement(cartQuantClass).getText());
-				System.out.println("Total: " + p.findElement(cartTotalClass).getText());
-				
-				p.findElement(cartDeleteBtnCss).click();
-				System.out.println("*** Products(s) removed from cart. ***");
-			}
+		// Read every row's cells in one executeScript call instead of 4 findElement/getText round trips per row
+		Map<String, By> cartColumns = new LinkedHashMap<>();
+		cartColumns.put("description", cartDescClass);
+		cartColumns.put("price", cartPriceClass);
+		cartColumns.put("quantity", cartQuantClass);
+		cartColumns.put("total", cartTotalClass);
+		List<CartItem> products = DomSnapshot.extract(driver, L2_TABLE_ROW_BY_DYNAMIC_ID, cartColumns,
+				row -> new CartItem(row.element(), row.get("description"), row.get("price"), row.get("quantity"), row.get("total")));
+		
+		for (CartItem p: products) {
+			System.out.println("\n*** Product Info ***");
+			System.out.println("Description: " + p.description);
+			System.out.println("Price: " + p.price);
+			System.out.println("Quantity: " + p.quantity);
+			System.out.println("Total: " + p.total);
+			
+			p.row.findElement(cartDeleteBtnCss).click();
+			System.out.println("*** Products(s) removed from cart. ***");
 		}
 		
 		WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(3));
@@ -146,6 +166,7 @@ public class TrickyLocators {
 
 	@Test(enabled = true)
 	public void trickyLocatorL3() {
+		WebDriver driver = DriverFactory.getDriver();
 		System.out.println("\n*** Tricky Locator 3 ***");
 		JavascriptExecutor js = (JavascriptExecutor) driver; // Initialize JavascriptExecutor
 		initAmazon(driver);
@@ -214,6 +235,7 @@ public class TrickyLocators {
 
 	@Test(enabled = true)
 	public void trickyLocatorL4() {
+		WebDriver driver = DriverFactory.getDriver();
 		System.out.println("\n*** Tricky Locator 4 ***");
 		initAmazon(driver);
 
@@ -237,6 +259,7 @@ public class TrickyLocators {
 
 	@Test(enabled = true)
 	public void trickLocatorL5() {
+		WebDriver driver = DriverFactory.getDriver();
 		System.out.println("\n*** Tricky Locator 5 ***");
 		driver.get("https://automationexercise.com/products");
 
@@ -258,6 +281,7 @@ public class TrickyLocators {
 
 	@Test(enabled = true)
 	public void trickyLocatorL6() {
+		WebDriver driver = DriverFactory.getDriver();
 		try {
 			System.out.println("\n*** Tricky Locator 6 ***");
 			initAmazon(driver);
@@ -291,9 +315,9 @@ public class TrickyLocators {
 	
 	@AfterMethod
 	public void tearDown() {
-		if (driver != null) {
-			System.out.println("\n--- Closing Browser ---");
-			driver.quit();
+		if (DriverFactory.hasDriver()) {
+			System.out.println("\n--- Releasing Browser ---");
+			DriverFactory.quitDriver();
 		}
 	}
 	
@@ -0,0 +1,126 @@
+package org.web.practice;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.Iterator;
+import java.util.List;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.web.dataproviders.DataSets;
+import org.web.dataproviders.RegistrationData;
+import org.web.dataproviders.UserDataProvider;
+
+import com.google.gson.Gson;
+
+/**
+ * Registration data: JSON/NDJSON/CSV input, index ranges and shards (on a generated 100k-row file),
+ * validation and the parse cache. No browser needed.
+ */
+public class UserDataProviderTest {
+
+	private static final int ROWS = 100_000;
+	private static final long[] ALL_ROWS = { 0, Long.MAX_VALUE };
+	private static final int[] NO_SHARD = { 0, 1 };
+
+	private Path dir;
+
+	@BeforeClass
+	public void writeDataSets() throws IOException {
+		dir = Files.createTempDirectory("registration_data");
+		try (BufferedWriter ndjson = Files.newBufferedWriter(dir.resolve("users.ndjson"), StandardCharsets.UTF_8);
+				BufferedWriter csv = Files.newBufferedWriter(dir.resolve("users.csv"), StandardCharsets.UTF_8)) {
+			csv.write("scenarioName,firstName,lastName,password,address1,role\n");
+			for (int i = 0; i < ROWS; i++) {
+				ndjson.write("{\"scenarioName\":\"Row " + i + "\",\"firstName\":\"User" + i + "\",\"lastName\":\"Doe\","
+						+ "\"password\":\"pw\",\"zipcode\":" + i + ",\"role\":\"USER\"}\n");
+				csv.write("Row " + i + ",User" + i + ",Doe,pw,\"" + i + " Main St., \"\"Apt\"\" 1\",USER\n");
+			}
+		}
+	}
+
+	@AfterClass(alwaysRun = true)
+	public void deleteDataSets() throws IOException {
+		Files.deleteIfExists(dir.resolve("users.ndjson"));
+		Files.deleteIfExists(dir.resolve("users.csv"));
+		Files.deleteIfExists(dir.resolve("typo.json"));
+		Files.deleteIfExists(dir);
+	}
+
+	@Test
+	public void defaultJsonFile() throws IOException {
+		Iterator<Object[]> rows = new UserDataProvider().getData();
+		Assert.assertEquals(record(rows.next()).scenarioName(), "Standard User Registration");
+		Assert.assertEquals(record(rows.next()).role(), "ADMIN");
+		Assert.assertFalse(rows.hasNext());
+	}
+
+	@Test
+	public void streamsNdjson() throws IOException {
+		Iterator<Object[]> rows = UserDataProvider.stream(dir.resolve("users.ndjson"), ALL_ROWS, NO_SHARD);
+		int count = 0;
+		while (rows.hasNext()) {
+			Assert.assertEquals(record(rows.next()).zipcode(), String.valueOf(count));
+			count++;
+		}
+		Assert.assertEquals(count, ROWS);
+	}
+
+	@Test
+	public void csvWithRange() throws IOException {
+		Iterator<Object[]> rows = UserDataProvider.getData(dir.resolve("users.csv"), new long[] { 500, 510 }, NO_SHARD, 0);
+		RegistrationData first = record(rows.next());
+		Assert.assertEquals(first.firstName(), "User500");
+		Assert.assertEquals(first.address1(), "500 Main St., \"Apt\" 1");
+		int count = 1;
+		for (; rows.hasNext(); rows.next()) {
+			count++;
+		}
+		Assert.assertEquals(count, 10);
+	}
+
+	@Test
+	public void shardsCoverEveryRowOnce() throws IOException {
+		int total = 0;
+		for (int shard = 0; shard < 3; shard++) {
+			Iterator<Object[]> rows = UserDataProvider.stream(dir.resolve("users.ndjson"), ALL_ROWS, new int[] { shard, 3 });
+			while (rows.hasNext()) {
+				int index = Integer.parseInt(record(rows.next()).zipcode());
+				Assert.assertEquals(index % 3, shard);
+				total++;
+			}
+		}
+		Assert.assertEquals(total, ROWS);
+	}
+
+	@Test
+	public void parsedOncePerModification() throws IOException {
+		Path file = Paths.get("src/test/resources/registration-data.json");
+		List<RegistrationData> first = DataSets.registrationData(file);
+		Assert.assertSame(DataSets.registrationData(file), first, "Unchanged file must come from the cache");
+
+		Path copy = dir.resolve("typo.json");
+		Files.writeString(copy, "[" + new Gson().toJson(first.get(0).toMap()) + "]");
+		Assert.assertEquals(DataSets.registrationData(copy), first.subList(0, 1));
+		Files.writeString(copy, "[{\"scenarioName\":\"Typo\",\"firstName\":\"A\",\"lastName\":\"B\",\"pasword\":\"x\",\"role\":\"USER\"}]");
+		Files.setLastModifiedTime(copy, FileTime.fromMillis(System.currentTimeMillis() + 2_000));
+		try {
+			DataSets.registrationData(copy);
+			Assert.fail("A misspelled field must be rejected when loading");
+		} catch (IllegalArgumentException e) {
+			Assert.assertTrue(e.getMessage().contains("unknown field 'pasword'"), e.getMessage());
+			Assert.assertTrue(e.getMessage().contains("missing 'password'"), e.getMessage());
+		}
+	}
+
+	private static RegistrationData record(Object[] row) {
+		return (RegistrationData) row[0];
+	}
+}
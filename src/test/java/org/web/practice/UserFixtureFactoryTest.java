@@ -0,0 +1,108 @@
+package org.web.practice;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.web.dataproviders.DataSets;
+import org.web.dataproviders.RegistrationData;
+import org.web.dataproviders.UserDataProvider;
+import org.web.dataproviders.UserFixtureFactory;
+
+/**
+ * Synthetic registration fixtures: uniqueness under parallel generation, reproducibility and the data-provider hook.
+ * No browser needed.
+ *
+ * Tuning: -Dstress.fixturesPerThread (default 125000).
+ */
+public class UserFixtureFactoryTest {
+
+	private static final int THREADS = 8;
+	private static final int FIXTURES_PER_THREAD = Integer.getInteger("stress.fixturesPerThread", 125_000);
+
+	private static List<RegistrationData> templates() throws IOException {
+		return DataSets.registrationData(Paths.get("src/test/resources/registration-data.json"));
+	}
+
+	@Test
+	public void parallelFixturesHaveUniqueEmails() throws Exception {
+		UserFixtureFactory factory = new UserFixtureFactory(templates(), 42);
+		Set<String> emails = ConcurrentHashMap.newKeySet(THREADS * FIXTURES_PER_THREAD);
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+		List<Future<?>> results = new ArrayList<>();
+		for (int t = 0; t < THREADS; t++) {
+			results.add(executor.submit(() -> {
+				start.await();
+				for (int i = 0; i < FIXTURES_PER_THREAD; i++) {
+					Assert.assertTrue(emails.add(factory.next().email()), "Duplicate email");
+				}
+				return null;
+			}));
+		}
+
+		long begin = System.nanoTime();
+		start.countDown();
+		for (Future<?> result : results) {
+			result.get();
+		}
+		long nanos = System.nanoTime() - begin;
+		executor.shutdown();
+
+		long total = (long) THREADS * FIXTURES_PER_THREAD;
+		System.out.printf("%n*** UserFixtureFactory: %,d fixtures on %d threads in %.0f ms (%,.0f fixtures/s) ***%n", total,
+				THREADS, nanos / 1e6, total / (nanos / 1e9));
+		Assert.assertEquals(emails.size(), total);
+	}
+
+	@Test
+	public void sameSeedSameFixtures() throws IOException {
+		UserFixtureFactory first = new UserFixtureFactory(templates(), 7);
+		UserFixtureFactory second = new UserFixtureFactory(templates(), 7);
+		Assert.assertEquals(first.create(123_456), second.create(123_456));
+		Assert.assertNotEquals(new UserFixtureFactory(templates(), 8).create(123_456).email(), first.create(123_456).email(),
+				"The seed tags the emails");
+
+		RegistrationData fixture = first.create(1);
+		Assert.assertEquals(fixture.role(), "ADMIN", "Templates are used round-robin");
+		Assert.assertEquals(fixture.password(), templates().get(1).password());
+		Assert.assertTrue(fixture.zipcode().matches("\\d{5}"), fixture.zipcode());
+		Assert.assertTrue(fixture.mobileNumber().matches("[2-9]\\d{9}"), fixture.mobileNumber());
+	}
+
+	@Test
+	public void dataProviderStampsAndGenerates() throws IOException {
+		Iterator<Object[]> rows = new UserDataProvider().getData();
+		RegistrationData fileRow = (RegistrationData) rows.next()[0];
+		Assert.assertEquals(fileRow.firstName(), "John");
+		Assert.assertNotNull(fileRow.email(), "File rows get a unique email");
+
+		rows = UserDataProvider.getData(Paths.get("src/test/resources/registration-data.json"),
+				new long[] { 0, Long.MAX_VALUE }, new int[] { 1, 4 }, 1000);
+		int count = 0;
+		for (; rows.hasNext(); rows.next()) {
+			count++;
+		}
+		Assert.assertEquals(count, 250);
+
+		// A range maps to fixed sequence numbers, independent of what the shared counter handed out before
+		UserFixtureFactory.shared().next();
+		rows = UserDataProvider.getData(Paths.get("src/test/resources/registration-data.json"), new long[] { 500, 510 },
+				new int[] { 0, 1 }, 1000);
+		for (long sequence = 500; sequence < 510; sequence++) {
+			Assert.assertEquals(rows.next()[0], UserFixtureFactory.shared().create(sequence));
+		}
+		Assert.assertFalse(rows.hasNext());
+	}
+}
@@ -0,0 +1,96 @@
+package org.web.practice;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.web.utilities.UserRecord;
+import org.web.utilities.UserStore;
+
+/**
+ * Concurrency check for the mock users table: 16+ threads seeding, verifying, updating and deleting at once,
+ * including contested check-and-insert on shared emails. No browser needed.
+ *
+ * Tuning: -Dstress.threads (default 16), -Dstress.opsPerThread (default 20000).
+ */
+public class UserStoreStressTest {
+
+	private static final int THREADS = Math.max(16, Integer.getInteger("stress.threads", 16));
+	private static final int OPS_PER_THREAD = Integer.getInteger("stress.opsPerThread", 20_000);
+	private static final int SHARED_EMAILS = 1_000;
+
+	@Test
+	public void concurrentSeedVerifyDelete() throws Exception {
+		UserStore store = new UserStore();
+		AtomicInteger sharedWinners = new AtomicInteger();
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+		List<Future<Integer>> results = new ArrayList<>();
+		for (int t = 0; t < THREADS; t++) {
+			int thread = t;
+			results.add(executor.submit((Callable<Integer>) () -> {
+				start.await();
+				int verified = 0;
+				String role = thread % 2 == 0 ? "USER" : "ADMIN";
+				for (int i = 0; i < OPS_PER_THREAD; i++) {
+					// Private rows: seed, verify, update status, delete
+					String email = "user" + thread + "_" + i + "@test.com";
+					Assert.assertTrue(store.insertIfAbsent(UserRecord.active(email, "pw", role)));
+					Assert.assertEquals(store.get(email).status(), UserRecord.STATUS_ACTIVE);
+					store.upsert(store.get(email).withStatus("VERIFIED"));
+					if ("VERIFIED".equals(store.get(email).status())) {
+						verified++;
+					}
+					Assert.assertTrue(store.delete(email));
+
+					// Contested rows: every thread races to claim the same emails
+					if (store.insertIfAbsent(UserRecord.active("shared" + (i % SHARED_EMAILS) + "@test.com", "pw", role))) {
+						sharedWinners.incrementAndGet();
+					}
+				}
+				return verified;
+			}));
+		}
+
+		long begin = System.nanoTime();
+		start.countDown();
+		int verified = 0;
+		for (Future<Integer> result : results) {
+			verified += result.get();
+		}
+		long nanos = System.nanoTime() - begin;
+		executor.shutdown();
+
+		long operations = (long) THREADS * OPS_PER_THREAD * 7; // insert, get, get+upsert, get, delete, contested insert
+		System.out.printf("%n*** UserStore stress: %d threads, %,d operations in %.0f ms (%,.0f ops/s) ***%n", THREADS,
+				operations, nanos / 1e6, operations / (nanos / 1e9));
+
+		Assert.assertEquals(verified, THREADS * OPS_PER_THREAD, "Lost status updates");
+		Assert.assertEquals(sharedWinners.get(), SHARED_EMAILS, "Each shared email must be claimed exactly once");
+		Assert.assertEquals(store.size(), SHARED_EMAILS, "Private rows must all be deleted");
+		Assert.assertEquals(store.findByStatus("VERIFIED").size(), 0, "Status index must drop deleted rows");
+		Assert.assertEquals(store.findByStatus(UserRecord.STATUS_ACTIVE).size(), SHARED_EMAILS);
+		Assert.assertEquals(store.findByRole("USER").size() + store.findByRole("ADMIN").size(), SHARED_EMAILS);
+	}
+
+	@Test
+	public void bulkSeedSkipsExistingRows() {
+		UserStore store = new UserStore(true, false);
+		List<UserRecord> users = new ArrayList<>();
+		for (int i = 0; i < 10_000; i++) {
+			users.add(UserRecord.active("bulk" + i + "@test.com", "pw", i % 10 == 0 ? "ADMIN" : "USER"));
+		}
+		Assert.assertEquals(store.seedAll(users), 10_000);
+		Assert.assertEquals(store.seedAll(users), 0, "Second seed must not overwrite");
+		Assert.assertEquals(store.findByRole("ADMIN").size(), 1_000);
+		Assert.assertEquals(store.findByStatus(UserRecord.STATUS_ACTIVE).size(), 10_000, "Unindexed column falls back to a scan");
+	}
+}
@@ -0,0 +1,392 @@
+package org.web.utilities;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.web.dataproviders.RegistrationData;
+import org.web.dataproviders.UserFixtureFactory;
+
+/**
+ * Pool of pre-provisioned user accounts for tests that only need "some logged-in user", so they skip the
+ * signup and delete-account UI flows.
+ *
+ * - The pool owns -Daccounts.pool.size accounts (default 1: size it to the tests that lease at the same time);
+ *   a background thread creates them up front and replaces discarded ones. When all are leased, {@link #lease()}
+ *   waits for a return (the pool "ran dry").
+ * - {@link #lease()} hands an account to one test exclusively until the {@link Lease} is closed.
+ * - On return, the provisioner resets the account; if that fails, the account is destroyed and replaced.
+ *   Resets and destroys run on the pool's background thread, never on the test thread that closed the lease, so
+ *   they are not part of that test's DatabaseUtil snapshot (its restore would bring a destroyed account back).
+ * - {@link #stats()} reports lease and wait times and how often a lease found the pool empty (ran dry),
+ *   to size the pool. They are printed when the pool shuts down.
+ *
+ * Provisioners (-Daccounts.provisioner): "ui" (default) signs up through automationexercise.com
+ * ({@link UiAccountProvisioner}); "local" only registers the account in {@link DatabaseUtil}, for offline runs.
+ */
+public final class AccountPool {
+
+	/**
+	 * Creates, resets and destroys accounts. Called from the pool's background thread (and from {@link #shutdown()}),
+	 * never from a test thread.
+	 */
+	public interface Provisioner {
+		/**
+		 * Creates the account described by user (which has a unique email) and returns it.
+		 */
+		RegistrationData create(RegistrationData user) throws Exception;
+
+		/**
+		 * Brings a returned account back to its freshly created state.
+		 */
+		void reset(RegistrationData account) throws Exception;
+
+		void destroy(RegistrationData account) throws Exception;
+	}
+
+	/**
+	 * Accounts that only exist in the users table ({@link DatabaseUtil}), for tests without a real backend.
+	 */
+	public static class LocalProvisioner implements Provisioner {
+		@Override
+		public RegistrationData create(RegistrationData user) {
+			if (!DatabaseUtil.seedUserIfAbsent(user.email(), user.password(), user.role())) {
+				throw new IllegalStateException("Account already exists: " + user.email());
+			}
+			return user;
+		}
+
+		@Override
+		public void reset(RegistrationData account) {
+			DatabaseUtil.seedUser(account.email(), account.password(), account.role());
+		}
+
+		@Override
+		public void destroy(RegistrationData account) {
+			DatabaseUtil.deleteUser(account.email());
+		}
+	}
+
+	/**
+	 * An account leased to one test. Close it (try-with-resources) to return the account to the pool.
+	 */
+	public final class Lease implements AutoCloseable {
+		private final RegistrationData account;
+		private final long leasedAt = System.nanoTime();
+		private final AtomicBoolean returned = new AtomicBoolean();
+
+		private Lease(RegistrationData account) {
+			this.account = account;
+		}
+
+		public RegistrationData account() {
+			return account;
+		}
+
+		/**
+		 * Returns the account. Closing twice is a no-op.
+		 */
+		@Override
+		public void close() {
+			if (returned.compareAndSet(false, true)) {
+				giveBack(this);
+			}
+		}
+	}
+
+	/**
+	 * Point-in-time pool statistics.
+	 */
+	public static final class Stats {
+		public final long leases;
+		public final long ranDry;
+		public final long provisioned;
+		public final long provisionFailures;
+		public final long discarded;
+		public final double avgLeaseMillis;
+		public final double maxLeaseMillis;
+		public final double avgWaitMillis;
+		public final double maxWaitMillis;
+		public final int idle;
+		public final int leased;
+
+		Stats(AccountPool pool) {
+			long returns = pool.returns.get();
+			this.leases = pool.leases.get();
+			this.ranDry = pool.ranDry.get();
+			this.provisioned = pool.provisioned.get();
+			this.provisionFailures = pool.provisionFailures.get();
+			this.discarded = pool.discarded.get();
+			this.avgLeaseMillis = returns == 0 ? 0 : pool.leaseNanos.get() / 1e6 / returns;
+			this.maxLeaseMillis = pool.maxLeaseNanos.get() / 1e6;
+			this.avgWaitMillis = leases == 0 ? 0 : pool.waitNanos.get() / 1e6 / leases;
+			this.maxWaitMillis = pool.maxWaitNanos.get() / 1e6;
+			this.idle = pool.idle.size();
+			this.leased = pool.leasedCount.get();
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%d lease(s), ran dry %d time(s), lease avg %.0f ms / max %.0f ms, wait avg %.0f ms / max %.0f ms, "
+					+ "%d provisioned, %d failed, %d discarded, %d idle, %d leased", leases, ranDry, avgLeaseMillis,
+					maxLeaseMillis, avgWaitMillis, maxWaitMillis, provisioned, provisionFailures, discarded, idle, leased);
+		}
+	}
+
+	private static volatile AccountPool shared;
+
+	private final String name;
+	private final Provisioner provisioner;
+	private final Supplier<RegistrationData> users;
+	private final int size;
+	private final Duration leaseTimeout;
+	private final BlockingDeque<RegistrationData> idle = new LinkedBlockingDeque<>();
+	private final ExecutorService replenisher;
+	private final AtomicInteger owned = new AtomicInteger(); // Accounts idle, leased or being created
+	private final AtomicInteger leasedCount = new AtomicInteger();
+	private volatile boolean closed;
+
+	private final AtomicLong leases = new AtomicLong();
+	private final AtomicLong returns = new AtomicLong();
+	private final AtomicLong ranDry = new AtomicLong();
+	private final AtomicLong provisioned = new AtomicLong();
+	private final AtomicLong provisionFailures = new AtomicLong();
+	private final AtomicLong discarded = new AtomicLong();
+	private final AtomicLong leaseNanos = new AtomicLong();
+	private final AtomicLong maxLeaseNanos = new AtomicLong();
+	private final AtomicLong waitNanos = new AtomicLong();
+	private final AtomicLong maxWaitNanos = new AtomicLong();
+
+	/**
+	 * Starts filling a pool of size accounts in the background.
+	 * @param users supplies the data of each new account; emails must be unique (see {@link UserFixtureFactory}).
+	 * @param leaseTimeout how long {@link #lease()} waits for an account when the pool ran dry.
+	 */
+	public AccountPool(String name, Provisioner provisioner, Supplier<RegistrationData> users, int size, Duration leaseTimeout) {
+		if (size < 1) {
+			throw new IllegalArgumentException("Pool size must be >= 1, was " + size);
+		}
+		this.name = name;
+		this.provisioner = provisioner;
+		this.users = users;
+		this.size = size;
+		this.leaseTimeout = leaseTimeout;
+		this.replenisher = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), runnable -> {
+			Thread thread = new Thread(runnable, "account-pool-" + name);
+			thread.setDaemon(true);
+			return thread;
+		});
+		replenish();
+	}
+
+	/**
+	 * The suite-wide pool configured by -Daccounts.pool.size, -Daccounts.provisioner and
+	 * -Daccounts.leaseTimeoutSeconds (default 300), over {@link UserFixtureFactory#shared()} users.
+	 */
+	public static AccountPool shared() {
+		AccountPool pool = shared;
+		if (pool == null) {
+			synchronized (AccountPool.class) {
+				pool = shared;
+				if (pool == null) {
+					String type = System.getProperty("accounts.provisioner", "ui");
+					Provisioner provisioner;
+					if (type.equalsIgnoreCase("local")) {
+						provisioner = new LocalProvisioner();
+					} else if (type.equalsIgnoreCase("ui")) {
+						provisioner = new UiAccountProvisioner();
+					} else {
+						throw new IllegalArgumentException("Unknown accounts.provisioner '" + type + "', expected local or ui");
+					}
+					UserFixtureFactory fixtures = UserFixtureFactory.shared();
+					pool = new AccountPool(type, provisioner, fixtures::next, Integer.getInteger("accounts.pool.size", 1),
+							Duration.ofSeconds(Long.getLong("accounts.leaseTimeoutSeconds", 300)));
+					Runtime.getRuntime().addShutdownHook(new Thread(AccountPool::shutdownShared, "account-pool-shutdown"));
+					shared = pool;
+				}
+			}
+		}
+		return pool;
+	}
+
+	/**
+	 * Shuts the shared pool down if it was ever used (called by WebDriverPoolListener at suite end).
+	 */
+	public static void shutdownShared() {
+		AccountPool pool;
+		synchronized (AccountPool.class) {
+			pool = shared;
+			shared = null;
+		}
+		if (pool != null) {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Takes an idle account, waiting for the background provisioning if the pool ran dry.
+	 * @throws IllegalStateException if no account became available within the lease timeout.
+	 */
+	public Lease lease() {
+		if (closed) {
+			throw new IllegalStateException("Account pool " + name + " is shut down");
+		}
+		long start = System.nanoTime();
+		RegistrationData account = idle.pollFirst();
+		if (account == null) {
+			ranDry.incrementAndGet();
+			long deadline = start + leaseTimeout.toNanos();
+			try {
+				// Re-requests provisioning every second, in case a background creation failed meanwhile
+				while (account == null && !closed && System.nanoTime() < deadline) {
+					replenish();
+					account = idle.pollFirst(Math.min(1_000_000_000L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Interrupted while waiting for an account", e);
+			}
+			if (account == null) {
+				throw new IllegalStateException("No account available in pool " + name + " after " + leaseTimeout
+						+ " (" + stats() + ")");
+			}
+		}
+		long waited = System.nanoTime() - start;
+		leases.incrementAndGet();
+		waitNanos.addAndGet(waited);
+		maxWaitNanos.accumulateAndGet(waited, Math::max);
+		leasedCount.incrementAndGet();
+		return new Lease(account);
+	}
+
+	public Stats stats() {
+		return new Stats(this);
+	}
+
+	/**
+	 * Stops provisioning and destroys the idle accounts. Leased accounts are destroyed when they are returned.
+	 */
+	public void shutdown() {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		List<RegistrationData> accounts = new ArrayList<>();
+		for (Runnable pending : replenisher.shutdownNow()) {
+			if (pending instanceof Recycle) {
+				accounts.add(((Recycle) pending).account); // Returned but not reset yet
+			}
+		}
+		try {
+			replenisher.awaitTermination(30, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		idle.drainTo(accounts);
+		accounts.forEach(this::destroy);
+		System.out.println("[ACCOUNT-POOL] " + name + ": " + stats());
+	}
+
+	private void giveBack(Lease lease) {
+		long held = System.nanoTime() - lease.leasedAt;
+		returns.incrementAndGet();
+		leaseNanos.addAndGet(held);
+		maxLeaseNanos.accumulateAndGet(held, Math::max);
+		leasedCount.decrementAndGet();
+
+		Recycle recycle = new Recycle(lease.account);
+		try {
+			replenisher.execute(recycle);
+		} catch (RuntimeException e) {
+			// Shut down meanwhile: destroy it off the calling test thread as well
+			Thread destroyer = new Thread(() -> destroy(lease.account), "account-pool-" + name + "-destroy");
+			destroyer.start();
+			try {
+				destroyer.join();
+			} catch (InterruptedException interrupted) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	/**
+	 * Resets a returned account on the background thread and puts it back, or destroys and replaces it.
+	 */
+	private final class Recycle implements Runnable {
+		final RegistrationData account;
+
+		Recycle(RegistrationData account) {
+			this.account = account;
+		}
+
+		@Override
+		public void run() {
+			if (closed) {
+				destroy(account);
+				return;
+			}
+			try {
+				provisioner.reset(account);
+				idle.offerFirst(account); // LIFO, like WebDriverPool
+			} catch (Exception e) {
+				System.out.println("[ACCOUNT-POOL] Reset failed, replacing " + account.email() + ": " + e.getMessage());
+				destroy(account);
+				discarded.incrementAndGet();
+				owned.decrementAndGet();
+				replenish();
+			}
+		}
+	}
+
+	// Schedules background creations until the pool owns its full size of accounts
+	private void replenish() {
+		while (!closed) {
+			int current = owned.get();
+			if (current >= size) {
+				return;
+			}
+			if (owned.compareAndSet(current, current + 1)) {
+				try {
+					replenisher.execute(this::provisionOne);
+				} catch (RuntimeException e) {
+					owned.decrementAndGet(); // Shut down meanwhile
+					return;
+				}
+			}
+		}
+	}
+
+	private void provisionOne() {
+		try {
+			RegistrationData account = provisioner.create(users.get());
+			provisioned.incrementAndGet();
+			if (closed) {
+				destroy(account);
+			} else {
+				idle.offerLast(account);
+			}
+		} catch (Exception e) {
+			owned.decrementAndGet();
+			provisionFailures.incrementAndGet();
+			System.out.println("[ACCOUNT-POOL] Could not provision an account: " + e.getMessage());
+		}
+	}
+
+	private void destroy(RegistrationData account) {
+		try {
+			provisioner.destroy(account);
+		} catch (Exception e) {
+			System.out.println("[ACCOUNT-POOL] Could not destroy " + account.email() + ": " + e.getMessage());
+		}
+	}
+}
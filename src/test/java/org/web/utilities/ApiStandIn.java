@@ -0,0 +1,303 @@
+package org.web.utilities;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * In-process HTTP stand-in for an external API, so API tests do not depend on a public demo host.
+ *
+ * Modes (-Dapi.mode):
+ * - replay (default): answers from recordings, matched by method, path and query parameters (in any order).
+ *   Unrecorded requests get a 404 naming the request. Bodies are replayed byte for byte, including quirks such
+ *   as guru99's JSON wrapped in &lt;html&gt;&lt;body&gt;.
+ * - record: forwards every request to the real host and saves the response, replacing an earlier recording of
+ *   the same request.
+ * - live: no stand-in; tests call the real host.
+ *
+ * Recordings are JSON files under -Dapi.recordings.dir (default src/test/resources/api-recordings), one per
+ * endpoint: /V4/sinkministatement.php is V4/sinkministatement.php.json. They are plain text; edit or commit them.
+ *
+ * Replies are fast only with -Dsun.net.httpserver.nodelay=true (set for tests in the pom's surefire configuration);
+ * without it each one waits ~40 ms for a delayed ACK.
+ */
+public final class ApiStandIn implements Closeable {
+
+	public enum Mode {
+		LIVE, RECORD, REPLAY;
+
+		public static Mode fromSystemProperties() {
+			return valueOf(System.getProperty("api.mode", "replay").trim().toUpperCase(Locale.ROOT));
+		}
+	}
+
+	public static final String DEFAULT_RECORDINGS_DIR = "src/test/resources/api-recordings";
+
+	private static final String SUFFIX = ".json";
+	private static final Gson GSON = new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create();
+	private static final Type EXCHANGES = new TypeToken<List<Exchange>>() {
+	}.getType();
+
+	private static ApiStandIn shared;
+
+	/**
+	 * One recorded request and its response.
+	 */
+	static final class Exchange {
+		final String method;
+		final Map<String, String> query;
+		final int status;
+		final String contentType;
+		final String body;
+
+		Exchange(String method, Map<String, String> query, int status, String contentType, String body) {
+			this.method = method;
+			this.query = query;
+			this.status = status;
+			this.contentType = contentType;
+			this.body = body;
+		}
+
+		String key() {
+			return key(method, query);
+		}
+
+		static String key(String method, Map<String, String> query) {
+			return method + " " + new TreeMap<>(query);
+		}
+	}
+
+	private final Mode mode;
+	private final URI upstream;
+	private final Path recordings;
+	private final HttpServer server;
+	private final ExecutorService executor;
+	private final HttpClient client;
+	// endpoint path -> (method + sorted query) -> exchange
+	private final Map<String, Map<String, Exchange>> exchanges = new ConcurrentHashMap<>();
+
+	/**
+	 * Starts a stand-in on a free loopback port.
+	 * @param upstream the real host (scheme://host[:port]); requests are forwarded there in record mode.
+	 * @param recordings the recordings directory; loaded now, written in record mode.
+	 */
+	public ApiStandIn(Mode mode, URI upstream, Path recordings) throws IOException {
+		if (mode == Mode.LIVE) {
+			throw new IllegalArgumentException("No stand-in is needed in live mode");
+		}
+		this.mode = mode;
+		this.upstream = upstream;
+		this.recordings = recordings;
+		this.client = mode == Mode.RECORD
+				? HttpClient.newBuilder().followRedirects(HttpClient.Redirect.NORMAL).connectTimeout(Duration.ofSeconds(30)).build()
+				: null;
+		load();
+
+		this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+		this.executor = Executors.newFixedThreadPool(4, runnable -> {
+			Thread thread = new Thread(runnable, "api-stand-in");
+			thread.setDaemon(true);
+			return thread;
+		});
+		server.createContext("/", this::handle);
+		server.setExecutor(executor);
+		server.start();
+		System.out.println("[API-STANDIN] " + mode.name().toLowerCase(Locale.ROOT) + " mode for " + upstream + " on "
+				+ baseUri() + " (" + recordedCount() + " recordings)");
+	}
+
+	/**
+	 * The base URI for API tests: liveBaseUri in live mode, otherwise the same path on the JVM-wide stand-in,
+	 * started on first use for liveBaseUri's host (-Dapi.mode, -Dapi.recordings.dir).
+	 */
+	public static synchronized String resolve(String liveBaseUri) {
+		Mode mode = Mode.fromSystemProperties();
+		if (mode == Mode.LIVE) {
+			return liveBaseUri;
+		}
+		URI live = URI.create(liveBaseUri);
+		if (shared == null) {
+			try {
+				shared = new ApiStandIn(mode, URI.create(live.getScheme() + "://" + live.getRawAuthority()),
+						Paths.get(System.getProperty("api.recordings.dir", DEFAULT_RECORDINGS_DIR)));
+			} catch (IOException e) {
+				throw new IllegalStateException("Could not start the API stand-in", e);
+			}
+			Runtime.getRuntime().addShutdownHook(new Thread(shared::close, "api-stand-in-shutdown"));
+		}
+		String path = live.getRawPath() == null ? "" : live.getRawPath();
+		return shared.baseUri() + path;
+	}
+
+	/**
+	 * http://127.0.0.1:port, no trailing slash.
+	 */
+	public String baseUri() {
+		return "http://" + server.getAddress().getAddress().getHostAddress() + ":" + server.getAddress().getPort();
+	}
+
+	public int recordedCount() {
+		return exchanges.values().stream().mapToInt(Map::size).sum();
+	}
+
+	@Override
+	public void close() {
+		server.stop(0);
+		executor.shutdownNow();
+	}
+
+	private void handle(HttpExchange http) throws IOException {
+		try {
+			String path = http.getRequestURI().getRawPath();
+			String method = http.getRequestMethod();
+			Map<String, String> query = parseQuery(http.getRequestURI().getRawQuery());
+			Exchange exchange = mode == Mode.RECORD
+					? record(http, path, method, query)
+					: exchanges.getOrDefault(path, Map.of()).get(Exchange.key(method, query));
+			if (exchange == null) {
+				String message = "No recording for " + method + " " + path + " " + new TreeMap<>(query)
+						+ "; record it with -Dapi.mode=record";
+				System.out.println("[API-STANDIN] " + message);
+				respond(http, 404, "text/plain; charset=UTF-8", message);
+				return;
+			}
+			respond(http, exchange.status, exchange.contentType, exchange.body);
+		} catch (IOException | RuntimeException e) {
+			System.out.println("[API-STANDIN] " + http.getRequestURI() + " failed: " + e);
+			if (http.getResponseCode() == -1) {
+				respond(http, 502, "text/plain; charset=UTF-8", "API stand-in error: " + e);
+			}
+		} finally {
+			http.close();
+		}
+	}
+
+	private Exchange record(HttpExchange http, String path, String method, Map<String, String> query) throws IOException {
+		byte[] requestBody;
+		try (InputStream in = http.getRequestBody()) {
+			requestBody = in.readAllBytes();
+		}
+		HttpRequest.Builder request = HttpRequest.newBuilder(upstream.resolve(http.getRequestURI().getRawPath()
+				+ (http.getRequestURI().getRawQuery() == null ? "" : "?" + http.getRequestURI().getRawQuery())))
+				.timeout(Duration.ofSeconds(60))
+				.method(method, requestBody.length == 0 ? HttpRequest.BodyPublishers.noBody()
+						: HttpRequest.BodyPublishers.ofByteArray(requestBody));
+		String requestType = http.getRequestHeaders().getFirst("Content-Type");
+		if (requestType != null) {
+			request.header("Content-Type", requestType);
+		}
+
+		HttpResponse<String> response;
+		try {
+			response = client.send(request.build(), HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while calling " + upstream, e);
+		}
+		Exchange exchange = new Exchange(method, query, response.statusCode(),
+				response.headers().firstValue("Content-Type").orElse("text/plain; charset=UTF-8"), response.body());
+		exchanges.computeIfAbsent(path, p -> new ConcurrentHashMap<>()).put(exchange.key(), exchange);
+		save(path);
+		System.out.println("[API-STANDIN] Recorded " + method + " " + path + " " + new TreeMap<>(query) + " -> "
+				+ exchange.status);
+		return exchange;
+	}
+
+	private static void respond(HttpExchange http, int status, String contentType, String body) throws IOException {
+		byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+		http.getResponseHeaders().set("Content-Type", contentType);
+		http.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+		if (bytes.length > 0) {
+			try (OutputStream out = http.getResponseBody()) {
+				out.write(bytes);
+			}
+		}
+	}
+
+	// Decoded name -> value; a repeated parameter keeps its values comma-separated in request order
+	static Map<String, String> parseQuery(String rawQuery) {
+		Map<String, String> query = new TreeMap<>();
+		if (rawQuery == null || rawQuery.isEmpty()) {
+			return query;
+		}
+		for (String pair : rawQuery.split("&")) {
+			if (pair.isEmpty()) {
+				continue;
+			}
+			int equals = pair.indexOf('=');
+			String name = URLDecoder.decode(equals < 0 ? pair : pair.substring(0, equals), StandardCharsets.UTF_8);
+			String value = equals < 0 ? "" : URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8);
+			query.merge(name, value, (first, next) -> first + "," + next);
+		}
+		return query;
+	}
+
+	private void load() throws IOException {
+		if (!Files.isDirectory(recordings)) {
+			return;
+		}
+		List<Path> files;
+		try (Stream<Path> walk = Files.walk(recordings)) {
+			files = walk.filter(file -> Files.isRegularFile(file) && file.toString().endsWith(SUFFIX))
+					.collect(Collectors.toList());
+		}
+		for (Path file : files) {
+			String relative = recordings.relativize(file).toString().replace(file.getFileSystem().getSeparator(), "/");
+			String path = "/" + relative.substring(0, relative.length() - SUFFIX.length());
+			List<Exchange> recorded;
+			try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+				recorded = GSON.fromJson(reader, EXCHANGES);
+			}
+			Map<String, Exchange> byKey = new ConcurrentHashMap<>();
+			for (Exchange exchange : recorded == null ? List.<Exchange>of() : recorded) {
+				byKey.put(exchange.key(), exchange);
+			}
+			exchanges.put(path, byKey);
+		}
+	}
+
+	// Rewrites one endpoint's file, sorted so that re-recording gives small diffs
+	private synchronized void save(String path) throws IOException {
+		List<Exchange> recorded = new ArrayList<>(exchanges.get(path).values());
+		recorded.sort((a, b) -> a.key().compareTo(b.key()));
+		Path file = recordings.resolve(Arrays.stream(path.split("/")).filter(part -> !part.isEmpty())
+				.collect(Collectors.joining("/")) + SUFFIX);
+		Files.createDirectories(file.getParent());
+		try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+			GSON.toJson(recorded, EXCHANGES, writer);
+		}
+	}
+}
@@ -0,0 +1,316 @@
+package org.web.utilities;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.web.utilities.ChecksumEngine.Algorithm;
+import org.web.utilities.ChecksumEngine.MultiDigest;
+
+/**
+ * Content-addressed store for failure artifacts (screenshots, diff images, ...).
+ *
+ * Layout under target/artifacts:
+ * - objects/ab/abcdef....png: one file per distinct content and extension, named by its SHA-256 and extension.
+ *   Identical screenshots of a repeated failure are stored once.
+ * - index.tsv: one line per stored artifact: timestamp, test, browser, kind, sha256, extension, size.
+ *
+ * Eviction (LRU by last store or lookup): objects older than the max age go first, then the least recently used
+ * until the total size fits. Index lines of evicted objects are dropped.
+ *
+ * System properties: artifacts.dir (default target/artifacts), artifacts.maxAgeDays (default 7),
+ * artifacts.maxMB (default 512).
+ */
+public final class ArtifactStore {
+
+	private static final String INDEX_FILE = "index.tsv";
+
+	private final Path root;
+	private final Path objects;
+	private final Path index;
+	private final Duration maxAge;
+	private final long maxBytes;
+
+	// object file name (sha256.extension) -> object, in access order (eldest first) for LRU eviction
+	private final LinkedHashMap<String, StoredObject> lru = new LinkedHashMap<>(64, 0.75f, true);
+	private final List<Entry> entries = new ArrayList<>();
+	private long totalBytes;
+
+	private static final class Holder {
+		static final ArtifactStore SHARED = open(Paths.get(System.getProperty("artifacts.dir", "target/artifacts")),
+				Duration.ofDays(Long.getLong("artifacts.maxAgeDays", 7)), Long.getLong("artifacts.maxMB", 512) << 20);
+	}
+
+	private static final class StoredObject {
+		final Path path;
+		final long size;
+		Instant lastAccess;
+
+		StoredObject(Path path, long size, Instant lastAccess) {
+			this.path = path;
+			this.size = size;
+			this.lastAccess = lastAccess;
+		}
+	}
+
+	/**
+	 * One stored artifact: who produced it, when, and where its content lives.
+	 */
+	public static final class Entry {
+		private final Instant timestamp;
+		private final String test;
+		private final String browser;
+		private final String kind;
+		private final String sha256;
+		private final String extension;
+		private final long size;
+		private final Path path;
+
+		Entry(Instant timestamp, String test, String browser, String kind, String sha256, String extension, long size,
+				Path path) {
+			this.timestamp = timestamp;
+			this.test = test;
+			this.browser = browser;
+			this.kind = kind;
+			this.sha256 = sha256;
+			this.extension = extension;
+			this.size = size;
+			this.path = path;
+		}
+
+		public Instant timestamp() {
+			return timestamp;
+		}
+
+		public String test() {
+			return test;
+		}
+
+		public String browser() {
+			return browser;
+		}
+
+		public String kind() {
+			return kind;
+		}
+
+		public String sha256() {
+			return sha256;
+		}
+
+		public String extension() {
+			return extension;
+		}
+
+		public long size() {
+			return size;
+		}
+
+		public Path path() {
+			return path;
+		}
+
+		String objectName() {
+			return ArtifactStore.objectName(sha256, extension);
+		}
+
+		String toIndexLine() {
+			return String.join("\t", timestamp.toString(), test, browser, kind, sha256, extension, String.valueOf(size));
+		}
+
+		@Override
+		public String toString() {
+			return timestamp + " " + test + " [" + browser + "] " + kind + " -> " + path;
+		}
+	}
+
+	private ArtifactStore(Path root, Duration maxAge, long maxBytes) {
+		this.root = root;
+		this.objects = root.resolve("objects");
+		this.index = root.resolve(INDEX_FILE);
+		this.maxAge = maxAge;
+		this.maxBytes = maxBytes;
+	}
+
+	/**
+	 * The store configured by the artifacts.* system properties.
+	 */
+	public static ArtifactStore shared() {
+		return Holder.SHARED;
+	}
+
+	/**
+	 * Opens (or creates) a store, loads its objects and index, and applies the eviction policy once.
+	 */
+	public static ArtifactStore open(Path root, Duration maxAge, long maxBytes) {
+		ArtifactStore store = new ArtifactStore(root, maxAge, maxBytes);
+		try {
+			store.load();
+			store.evict();
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot open artifact store " + root, e);
+		}
+		return store;
+	}
+
+	/**
+	 * Stores content under its SHA-256 and extension (once, however often it is put) and records an index entry.
+	 */
+	public synchronized Entry put(byte[] content, String extension, String test, String browser, String kind)
+			throws IOException {
+		String sha256 = new MultiDigest(Algorithm.SHA256).update(content, 0, content.length).finish().get(Algorithm.SHA256);
+		Instant now = Instant.now();
+
+		String name = objectName(sha256, extension);
+		StoredObject object = lru.get(name); // also marks it most recently used
+		if (object == null) {
+			Path path = objects.resolve(sha256.substring(0, 2)).resolve(name);
+			Files.createDirectories(path.getParent());
+			Path temp = Files.createTempFile(path.getParent(), sha256, ".tmp");
+			Files.write(temp, content);
+			Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			object = new StoredObject(path, content.length, now);
+			lru.put(name, object);
+			totalBytes += content.length;
+		} else {
+			touch(object, now);
+		}
+
+		Entry entry = new Entry(now, clean(test), clean(browser), clean(kind), sha256, extension, content.length, object.path);
+		entries.add(entry);
+		Files.write(index, (entry.toIndexLine() + "\n").getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE,
+				StandardOpenOption.APPEND);
+
+		if (totalBytes > maxBytes) {
+			evict();
+		}
+		return entry;
+	}
+
+	/**
+	 * Artifacts recorded for a test (and browser, if not null), newest first. Marks their content as recently used.
+	 */
+	public synchronized List<Entry> find(String test, String browser) {
+		List<Entry> found = new ArrayList<>();
+		Instant now = Instant.now();
+		for (int i = entries.size() - 1; i >= 0; i--) {
+			Entry entry = entries.get(i);
+			if (entry.test.equals(test) && (browser == null || entry.browser.equalsIgnoreCase(browser))) {
+				found.add(entry);
+				StoredObject object = lru.get(entry.objectName());
+				if (object != null) {
+					touch(object, now);
+				}
+			}
+		}
+		return found;
+	}
+
+	public synchronized long totalBytes() {
+		return totalBytes;
+	}
+
+	public synchronized int objectCount() {
+		return lru.size();
+	}
+
+	/**
+	 * Deletes objects older than the max age, then least recently used objects until the store fits in the max size.
+	 */
+	public synchronized void evict() throws IOException {
+		Instant cutoff = Instant.now().minus(maxAge);
+		int evicted = 0;
+		Iterator<Map.Entry<String, StoredObject>> eldestFirst = lru.entrySet().iterator();
+		while (eldestFirst.hasNext()) {
+			StoredObject object = eldestFirst.next().getValue();
+			if (totalBytes <= maxBytes && !object.lastAccess.isBefore(cutoff)) {
+				break; // Access order: everything after this is newer
+			}
+			Files.deleteIfExists(object.path);
+			totalBytes -= object.size;
+			eldestFirst.remove();
+			evicted++;
+		}
+		if (evicted > 0) {
+			entries.removeIf(entry -> !lru.containsKey(entry.objectName()));
+			rewriteIndex();
+			System.out.println("[ARTIFACTS] Evicted " + evicted + " object(s); " + lru.size() + " left, "
+					+ (totalBytes >> 10) + " KB.");
+		}
+	}
+
+	private void load() throws IOException {
+		Files.createDirectories(objects);
+
+		// Objects, oldest access first, so the access-ordered map starts in LRU order
+		List<StoredObject> found = new ArrayList<>();
+		try (Stream<Path> files = Files.walk(objects)) {
+			for (Path path : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator) {
+				if (path.getFileName().toString().endsWith(".tmp")) {
+					Files.deleteIfExists(path); // Interrupted write
+				} else {
+					found.add(new StoredObject(path, Files.size(path), Files.getLastModifiedTime(path).toInstant()));
+				}
+			}
+		}
+		found.sort((a, b) -> a.lastAccess.compareTo(b.lastAccess));
+		for (StoredObject object : found) {
+			lru.put(object.path.getFileName().toString(), object);
+			totalBytes += object.size;
+		}
+
+		if (Files.exists(index)) {
+			for (String line : Files.readAllLines(index, StandardCharsets.UTF_8)) {
+				String[] fields = line.split("\t");
+				StoredObject object = fields.length == 7 ? lru.get(objectName(fields[4], fields[5])) : null;
+				if (object != null) {
+					entries.add(new Entry(Instant.parse(fields[0]), fields[1], fields[2], fields[3], fields[4], fields[5],
+							Long.parseLong(fields[6]), object.path));
+				}
+			}
+		}
+	}
+
+	private void rewriteIndex() throws IOException {
+		List<String> lines = new ArrayList<>();
+		for (Entry entry : entries) {
+			lines.add(entry.toIndexLine());
+		}
+		Path temp = Files.createTempFile(root, INDEX_FILE, ".tmp");
+		Files.write(temp, lines, StandardCharsets.UTF_8);
+		Files.move(temp, index, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	// The file's mtime persists the access time across runs
+	private static void touch(StoredObject object, Instant now) {
+		object.lastAccess = now;
+		try {
+			Files.setLastModifiedTime(object.path, FileTime.from(now));
+		} catch (IOException e) {
+			// Only affects eviction order after a restart
+		}
+	}
+
+	// The same bytes under another extension are another object, so an entry's path always has its extension
+	private static String objectName(String sha256, String extension) {
+		return sha256 + "." + extension;
+	}
+
+	private static String clean(String value) {
+		return value == null ? "-" : value.replaceAll("[\\t\\r\\n]", " ");
+	}
+}
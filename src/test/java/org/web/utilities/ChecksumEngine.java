@@ -0,0 +1,257 @@
+package org.web.utilities;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+import java.util.zip.Checksum;
+
+/**
+ * High-throughput file checksums: SHA-256, MD5 and CRC32C computed in ONE pass over the file.
+ *
+ * - Files of 16 MB and more are read through memory-mapped windows (64 MB each, so files over 2 GB work too),
+ *   smaller files through a reusable 1 MB direct buffer per thread. No copy into a byte[] on the Java side.
+ * - Hex encoding uses a lookup table instead of String.format per byte.
+ * - {@link #computeAll} hashes a batch of files in parallel on a bounded executor.
+ * - {@link MultiDigest} is the incremental form, for data that arrives in chunks (e.g. a growing download).
+ */
+public final class ChecksumEngine {
+
+	private static final long MAP_THRESHOLD = 16L << 20;
+	private static final long MAP_WINDOW = 64L << 20;
+	private static final int BUFFER_SIZE = 1 << 20;
+	private static final ThreadLocal<ByteBuffer> BUFFER = ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(BUFFER_SIZE));
+
+	private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+	private ChecksumEngine() {
+	}
+
+	public enum Algorithm {
+		SHA256("SHA-256"), MD5("MD5"), CRC32C("CRC32C");
+
+		private final String displayName;
+
+		Algorithm(String displayName) {
+			this.displayName = displayName;
+		}
+
+		@Override
+		public String toString() {
+			return displayName;
+		}
+	}
+
+	/**
+	 * Result of one pass: the byte count and the lowercase hex value of each requested algorithm.
+	 */
+	public static final class Checksums {
+		private final long size;
+		private final Map<Algorithm, String> values;
+
+		Checksums(long size, Map<Algorithm, String> values) {
+			this.size = size;
+			this.values = Collections.unmodifiableMap(values);
+		}
+
+		public long size() {
+			return size;
+		}
+
+		/**
+		 * @throws IllegalArgumentException if the algorithm was not requested.
+		 */
+		public String get(Algorithm algorithm) {
+			String value = values.get(algorithm);
+			if (value == null) {
+				throw new IllegalArgumentException(algorithm + " was not computed; requested " + values.keySet());
+			}
+			return value;
+		}
+
+		public Map<Algorithm, String> values() {
+			return values;
+		}
+
+		@Override
+		public String toString() {
+			return size + " bytes " + values;
+		}
+	}
+
+	/**
+	 * Incremental multi-algorithm digest: feed chunks with update, then call finish once.
+	 */
+	public static final class MultiDigest {
+		private final Map<Algorithm, MessageDigest> digests = new EnumMap<>(Algorithm.class);
+		private final Checksum crc;
+		private long size;
+
+		public MultiDigest(Algorithm... algorithms) {
+			if (algorithms.length == 0) {
+				throw new IllegalArgumentException("At least one algorithm is required");
+			}
+			Checksum crc32c = null;
+			for (Algorithm algorithm : algorithms) {
+				if (algorithm == Algorithm.CRC32C) {
+					crc32c = new CRC32C();
+				} else {
+					try {
+						digests.put(algorithm, MessageDigest.getInstance(algorithm.displayName));
+					} catch (NoSuchAlgorithmException e) {
+						throw new IllegalStateException(algorithm + " is not available in this JRE", e);
+					}
+				}
+			}
+			this.crc = crc32c;
+		}
+
+		/**
+		 * Consumes the buffer's remaining bytes (position ends at limit).
+		 */
+		public MultiDigest update(ByteBuffer buffer) {
+			int start = buffer.position();
+			int end = buffer.limit();
+			for (MessageDigest digest : digests.values()) {
+				buffer.position(start);
+				digest.update(buffer);
+			}
+			if (crc != null) {
+				buffer.position(start);
+				crc.update(buffer);
+			}
+			buffer.position(end);
+			size += end - start;
+			return this;
+		}
+
+		public MultiDigest update(byte[] bytes, int offset, int length) {
+			return update(ByteBuffer.wrap(bytes, offset, length));
+		}
+
+		public long size() {
+			return size;
+		}
+
+		public Checksums finish() {
+			Map<Algorithm, String> values = new EnumMap<>(Algorithm.class);
+			for (Map.Entry<Algorithm, MessageDigest> digest : digests.entrySet()) {
+				values.put(digest.getKey(), toHex(digest.getValue().digest()));
+			}
+			if (crc != null) {
+				long value = crc.getValue();
+				values.put(Algorithm.CRC32C, toHex(new byte[] { (byte) (value >>> 24), (byte) (value >>> 16),
+						(byte) (value >>> 8), (byte) value }));
+			}
+			return new Checksums(size, values);
+		}
+	}
+
+	/**
+	 * Reads the file once and computes every requested algorithm (default: SHA-256).
+	 */
+	public static Checksums compute(Path file, Algorithm... algorithms) throws IOException {
+		MultiDigest digest = new MultiDigest(algorithms.length == 0 ? new Algorithm[] { Algorithm.SHA256 } : algorithms);
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			long size = channel.size();
+			if (size >= MAP_THRESHOLD) {
+				for (long position = 0; position < size; position += MAP_WINDOW) {
+					digest.update(channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(MAP_WINDOW, size - position)));
+				}
+			} else {
+				ByteBuffer buffer = BUFFER.get();
+				buffer.clear();
+				while (channel.read(buffer) != -1) {
+					buffer.flip();
+					digest.update(buffer);
+					buffer.clear();
+				}
+			}
+		}
+		return digest.finish();
+	}
+
+	/**
+	 * Hashes a batch of files in parallel, at most one file per CPU core (and at most 8) at a time.
+	 * @return file -> checksums, in the order given.
+	 */
+	public static Map<Path, Checksums> computeAll(Collection<Path> files, Algorithm... algorithms) throws IOException {
+		int threads = Math.max(1, Math.min(Math.min(8, Runtime.getRuntime().availableProcessors()), files.size()));
+		// Bounded queue + caller-runs: never more than 2 x threads files queued, the submitting thread helps when full
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(threads * 2), new ThreadPoolExecutor.CallerRunsPolicy());
+		try {
+			List<Future<Checksums>> futures = new ArrayList<>();
+			for (Path file : files) {
+				futures.add(executor.submit(() -> {
+					try {
+						return compute(file, algorithms);
+					} catch (IOException e) {
+						throw new UncheckedIOException(file.toString(), e);
+					}
+				}));
+			}
+
+			Map<Path, Checksums> results = new LinkedHashMap<>();
+			int i = 0;
+			for (Path file : files) {
+				results.put(file, futures.get(i++).get());
+			}
+			return results;
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof UncheckedIOException) {
+				throw ((UncheckedIOException) e.getCause()).getCause();
+			}
+			throw new IllegalStateException(e.getCause());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while hashing " + files.size() + " file(s)", e);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Verifies a batch of files against expected SHA-256 values, in parallel.
+	 * @return the files whose hash differs (empty if all match).
+	 */
+	public static List<Path> verifyAll(Map<Path, String> expectedSha256) throws IOException {
+		Map<Path, Checksums> actual = computeAll(expectedSha256.keySet(), Algorithm.SHA256);
+		List<Path> mismatches = new ArrayList<>();
+		for (Map.Entry<Path, String> expected : expectedSha256.entrySet()) {
+			if (!actual.get(expected.getKey()).get(Algorithm.SHA256).equalsIgnoreCase(expected.getValue())) {
+				mismatches.add(expected.getKey());
+			}
+		}
+		return mismatches;
+	}
+
+	/**
+	 * Lowercase hex, via lookup table.
+	 */
+	public static String toHex(byte[] bytes) {
+		char[] chars = new char[bytes.length * 2];
+		for (int i = 0; i < bytes.length; i++) {
+			chars[2 * i] = HEX[(bytes[i] >> 4) & 0xF];
+			chars[2 * i + 1] = HEX[bytes[i] & 0xF];
+		}
+		return new String(chars);
+	}
+}
@@ -0,0 +1,46 @@
+package org.web.utilities;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+/**
+ * Counts WebDriver commands issued through a decorated driver. Used by the benchmarks to compare
+ * how many driver round trips an approach costs.
+ *
+ * Accessors that only return a helper object (manage(), navigate(), switchTo(), timeouts(), window())
+ * do not go over the wire and are not counted.
+ */
+public class CommandCounter implements WebDriverListener {
+
+	private final AtomicLong commands = new AtomicLong();
+
+	/**
+	 * Wraps the driver so every command sent through the returned instance is counted.
+	 */
+	public WebDriver decorate(WebDriver driver) {
+		return new EventFiringDecorator<WebDriver>(this).decorate(driver);
+	}
+
+	@Override
+	public void beforeAnyCall(Object target, Method method, Object[] args) {
+		Class<?> returnType = method.getReturnType();
+		if (returnType == WebDriver.Options.class || returnType == WebDriver.Navigation.class
+				|| returnType == WebDriver.TargetLocator.class || returnType == WebDriver.Timeouts.class
+				|| returnType == WebDriver.Window.class) {
+			return;
+		}
+		commands.incrementAndGet();
+	}
+
+	public long count() {
+		return commands.get();
+	}
+
+	public void reset() {
+		commands.set(0);
+	}
+}
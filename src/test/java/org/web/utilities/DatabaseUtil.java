@@ -1,49 +1,71 @@
 package org.web.utilities;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Collection;
 
 public class DatabaseUtil {
 
-	// Simulating a DB Table 'users' in memory
-	private static Map<String, Map<String, String>> MOCK_USERS_TABLE = new HashMap<>();
+	// The 'users' table: in memory (default) or an embedded H2 database, see UserRepository (-Ddb.backend),
+	// with per-thread snapshot/restore on top.
+	//
+	// Isolation semantics: every write, with or without a snapshot, goes to the shared table, so seedUserIfAbsent
+	// stays a global atomic check-and-insert and rows written inside a snapshot are visible to every thread.
+	// A snapshot only keeps an undo log of the emails its thread touched; restore() puts those rows back.
+	// Parallel tests are isolated by using their own emails (UserFixtureFactory), not by hiding rows.
+	private static final SnapshotUserRepository USERS_TABLE = new SnapshotUserRepository(UserRepository.fromSystemProperties());
+
+	// Isolation: mark a restore point for this thread. Its writes from now on are recorded for restore().
+	public static SnapshotUserRepository.Snapshot snapshot() {
+		return USERS_TABLE.snapshot();
+	}
+
+	// Isolation: undo everything this thread wrote since the snapshot, one write per email it touched
+	public static void restore(SnapshotUserRepository.Snapshot snapshot) {
+		USERS_TABLE.restore(snapshot);
+		System.out.println("[DB-LOG] Rollback - Restored snapshot");
+	}
 
 	// Seed Data: Manually insert a user (for login tests or collision checks)
 	public static void seedUser(String email, String password, String role) {
-		Map<String, String> row = new HashMap<>();
-		row.put("email", email);
-		row.put("password", password); // In a real Database, password should be hashed.
-		row.put("role", role);
-		row.put("status", "ACTIVE");
-
-		MOCK_USERS_TABLE.put(email, row);
+		USERS_TABLE.upsert(UserRecord.active(email, password, role));
 		System.out.println("[DB-LOG] Seeded user: " + email);
 	}
 
+	// Seed Data: Atomic check-and-insert for collision checks. Returns false if the email is already taken.
+	public static boolean seedUserIfAbsent(String email, String password, String role) {
+		boolean inserted = USERS_TABLE.insertIfAbsent(UserRecord.active(email, password, role));
+		if (inserted) {
+			System.out.println("[DB-LOG] Seeded user: " + email);
+		}
+		return inserted;
+	}
+
+	// Seed Data: Bulk insert, skipping emails that already exist. Returns the number of rows inserted.
+	public static int seedUsers(Collection<UserRecord> users) {
+		int inserted = USERS_TABLE.seedAll(users);
+		System.out.println("[DB-LOG] Bulk seeded " + inserted + " of " + users.size() + " user(s)");
+		return inserted;
+	}
+
 	// Database Assertion: Verify a row exists and matches expected criteria
 	public static boolean verifyUserCreated(String email) {
-		return MOCK_USERS_TABLE.containsKey(email);
+		return USERS_TABLE.contains(email);
 	}
 
 	// Database Assertion: Check specific column value (Post-condition)
 	public static String getUserStatus(String email) {
-		if (!MOCK_USERS_TABLE.containsKey(email)) {
-			return null;
-		}
-
-		return MOCK_USERS_TABLE.get(email).get("status");
+		UserRecord user = USERS_TABLE.get(email);
+		return user == null ? null : user.status();
 	}
 
 	// Rollback/Cleanup: Delete the row to reset state
 	public static void deleteUser(String email) {
-		if (MOCK_USERS_TABLE.containsKey(email)) {
-			MOCK_USERS_TABLE.remove(email);
+		if (USERS_TABLE.delete(email)) {
 			System.out.println("[DB-LOG] Rollback - Deleted user: " + email);
 		}
 	}
 
-	// Helper to simulate DB connection check
+	// Connection check (always true for the in-memory backend)
 	public static boolean isDbConnected() {
-		return true; // Always true for mock
+		return USERS_TABLE.isConnected();
 	}
 }
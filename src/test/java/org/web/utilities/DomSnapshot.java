@@ -0,0 +1,116 @@
+package org.web.utilities;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Bulk DOM extraction: reads the text of named child elements for every row matching a locator
+ * in ONE executeScript call, instead of a findElement + getText round trip per cell.
+ *
+ * A 50-row table with 4 columns costs 1 command here versus 200+ with per-cell lookups.
+ */
+public final class DomSnapshot {
+
+	private static final String EXTRACT_SCRIPT = ScriptLocators.FIND_FUNCTION
+			+ "var rowLocator = arguments[0], fields = arguments[1];"
+			+ "return findAll(rowLocator[0], rowLocator[1]).map(function (row) {"
+			+ "  var values = {};"
+			+ "  Object.keys(fields).forEach(function (name) {"
+			+ "    var child = find(fields[name][0], fields[name][1], row);"
+			// innerText is what getText() reports for visible elements
+			+ "    values[name] = child ? (child.innerText || child.textContent || '').trim() : null;"
+			+ "  });"
+			+ "  return { element: row, values: values };"
+			+ "});";
+
+	private DomSnapshot() {
+	}
+
+	/**
+	 * One extracted row: the named child texts, plus the row element for follow-up actions (clicks).
+	 */
+	public static final class Row {
+		private final WebElement element;
+		private final Map<String, String> values;
+
+		Row(WebElement element, Map<String, String> values) {
+			this.element = element;
+			this.values = Collections.unmodifiableMap(values);
+		}
+
+		public WebElement element() {
+			return element;
+		}
+
+		/**
+		 * @return the trimmed text of the named child, or null if the row has no such child.
+		 */
+		public String get(String name) {
+			return values.get(name);
+		}
+
+		public Map<String, String> values() {
+			return values;
+		}
+
+		@Override
+		public String toString() {
+			return values.toString();
+		}
+	}
+
+	/**
+	 * Extracts every row matching rowLocator. Field locators are resolved relative to the row
+	 * (XPath field locators must therefore start with "." to stay inside the row).
+	 */
+	public static List<Row> extract(WebDriver driver, By rowLocator, Map<String, By> fields) {
+		Map<String, List<String>> scriptFields = new LinkedHashMap<>();
+		for (Map.Entry<String, By> field : fields.entrySet()) {
+			scriptFields.put(field.getKey(), toScriptLocator(field.getValue()));
+		}
+
+		Object result = ((JavascriptExecutor) driver).executeScript(EXTRACT_SCRIPT, toScriptLocator(rowLocator), scriptFields);
+
+		List<Row> rows = new ArrayList<>();
+		for (Object item : (List<?>) result) {
+			Map<?, ?> row = (Map<?, ?>) item;
+			Map<String, String> values = new LinkedHashMap<>();
+			Map<?, ?> rawValues = (Map<?, ?>) row.get("values");
+			for (String name : fields.keySet()) {
+				Object value = rawValues.get(name);
+				values.put(name, value == null ? null : value.toString());
+			}
+			rows.add(new Row((WebElement) row.get("element"), values));
+		}
+		return rows;
+	}
+
+	/**
+	 * Extracts every row matching rowLocator and maps it to a typed record.
+	 */
+	public static <T> List<T> extract(WebDriver driver, By rowLocator, Map<String, By> fields, Function<Row, T> mapper) {
+		List<Row> rows = extract(driver, rowLocator, fields);
+		List<T> records = new ArrayList<>(rows.size());
+		for (Row row : rows) {
+			records.add(mapper.apply(row));
+		}
+		return records;
+	}
+
+	private static List<String> toScriptLocator(By by) {
+		String[] locator = ScriptLocators.toScriptLocator(by);
+		if (locator == null) {
+			throw new IllegalArgumentException("Locator cannot be resolved in-page: " + by);
+		}
+		return List.of(locator[0], locator[1]);
+	}
+}
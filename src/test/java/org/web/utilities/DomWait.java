@@ -0,0 +1,187 @@
+package org.web.utilities;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.FluentWait;
+
+/**
+ * Event-driven waits: a MutationObserver is installed inside the page through executeAsyncScript and the
+ * wait resolves the moment the condition holds, in a single script command (plus a read of the driver's script
+ * timeout, which is raised for long waits and restored afterwards).
+ * A FluentWait polling every 500 ms costs up to half a second of extra latency and one round trip per poll.
+ *
+ * Besides DOM mutations, the condition is re-checked on transitionend/animationend (style changes that are
+ * not mutations) and, for visibility, by an IntersectionObserver once the element exists.
+ *
+ * Falls back to polling when the driver cannot execute scripts, the locator has no in-page equivalent
+ * (link text), or the page navigates away while the observer is installed.
+ */
+public final class DomWait {
+
+	// Fallback polling interval, same as the FluentWait in LoadingSpinnerDynamicWait
+	private static final Duration POLLING = Duration.ofMillis(500);
+
+	// Headroom left for the in-page timer to report a timeout itself before the driver's script timeout fires
+	private static final Duration SCRIPT_TIMEOUT_MARGIN = Duration.ofSeconds(5);
+
+	private static final String OBSERVER_SCRIPT = ScriptLocators.FIND_FUNCTION
+			+ "var using = arguments[0], value = arguments[1], condition = arguments[2], arg = arguments[3];"
+			+ "var timeout = arguments[4], done = arguments[arguments.length - 1];"
+			// Keep real timers even when VirtualClock replaced the page's setTimeout
+			+ "var timers = window.__nativeTimers || window;"
+			+ "function visible(el) {"
+			+ "  if (!el || !el.isConnected) { return false; }"
+			+ "  var style = window.getComputedStyle(el);"
+			+ "  return style.visibility !== 'hidden' && style.opacity !== '0' && el.getClientRects().length > 0;"
+			+ "}"
+			+ "function text(el) { return (el.innerText || el.textContent || '').trim(); }"
+			+ "var initial = null;"
+			+ "if (condition === 'attribute') { var first = find(using, value); initial = first ? first.getAttribute(arg) : null; }"
+			+ "function check() {"
+			+ "  var el = find(using, value);"
+			+ "  switch (condition) {"
+			+ "    case 'visible': return visible(el) ? el : null;"
+			+ "    case 'hidden': return visible(el) ? null : true;"
+			+ "    case 'text': return el && text(el) === arg ? el : null;"
+			+ "    case 'attribute': return el && el.getAttribute(arg) !== initial ? el : null;"
+			+ "  }"
+			+ "  return null;"
+			+ "}"
+			+ "var finished = false, observer, intersection, timer;"
+			+ "function finish(result) {"
+			+ "  if (finished) { return; }"
+			+ "  finished = true;"
+			+ "  observer.disconnect();"
+			+ "  if (intersection) { intersection.disconnect(); }"
+			+ "  document.removeEventListener('transitionend', recheck, true);"
+			+ "  document.removeEventListener('animationend', recheck, true);"
+			+ "  timers.clearTimeout(timer);"
+			+ "  done(result);"
+			+ "}"
+			+ "function recheck() {"
+			+ "  var result = check();"
+			+ "  if (result !== null) { finish(result); return; }"
+			+ "  if (condition === 'visible' && !intersection && window.IntersectionObserver) {"
+			+ "    var el = find(using, value);"
+			+ "    if (el) { intersection = new IntersectionObserver(recheck); intersection.observe(el); }"
+			+ "  }"
+			+ "}"
+			+ "observer = new MutationObserver(recheck);"
+			+ "observer.observe(document.documentElement, { subtree: true, childList: true, attributes: true, characterData: true });"
+			+ "document.addEventListener('transitionend', recheck, true);"
+			+ "document.addEventListener('animationend', recheck, true);"
+			+ "timer = timers.setTimeout(function () { finish(null); }, timeout);"
+			+ "recheck();";
+
+	private DomWait() {
+	}
+
+	/**
+	 * Waits until the element is present and visible.
+	 */
+	public static WebElement untilVisible(WebDriver driver, By locator, Duration timeout) {
+		return (WebElement) await(driver, locator, "visible", null, timeout,
+				() -> ExpectedConditions.visibilityOfElementLocated(locator));
+	}
+
+	/**
+	 * Waits until the element is hidden or no longer in the DOM.
+	 */
+	public static void untilHidden(WebDriver driver, By locator, Duration timeout) {
+		await(driver, locator, "hidden", null, timeout, () -> ExpectedConditions.invisibilityOfElementLocated(locator));
+	}
+
+	/**
+	 * Waits until the element's visible text (trimmed) equals the expected text.
+	 */
+	public static WebElement untilTextEquals(WebDriver driver, By locator, String expected, Duration timeout) {
+		Supplier<ExpectedCondition<?>> polling = () -> d -> {
+			WebElement element = d.findElement(locator);
+			return element.getText().trim().equals(expected) ? element : null;
+		};
+		return (WebElement) await(driver, locator, "text", expected, timeout, polling);
+	}
+
+	/**
+	 * Waits until the attribute's value differs from its value when the wait started.
+	 */
+	public static WebElement untilAttributeChanges(WebDriver driver, By locator, String attribute, Duration timeout) {
+		Supplier<ExpectedCondition<?>> polling = () -> {
+			// Only the polling fallback needs the starting value from the driver; the observer script reads it in-page
+			String initial = attributeOrNull(driver, locator, attribute);
+			return d -> {
+				WebElement element = d.findElement(locator);
+				String current = element.getAttribute(attribute);
+				return (current == null ? initial != null : !current.equals(initial)) ? element : null;
+			};
+		};
+		return (WebElement) await(driver, locator, "attribute", attribute, timeout, polling);
+	}
+
+	private static Object await(WebDriver driver, By locator, String condition, String arg, Duration timeout,
+			Supplier<ExpectedCondition<?>> pollingCondition) {
+		String[] scriptLocator = ScriptLocators.toScriptLocator(locator);
+		if (!(driver instanceof JavascriptExecutor) || scriptLocator == null) {
+			return poll(driver, timeout, pollingCondition);
+		}
+
+		long start = System.nanoTime();
+		// The in-page timer resolves the wait; the driver's script timeout is only a safety net.
+		// Raise it only when the driver's current value would cut the wait short, and put that value back afterwards.
+		Duration previousScriptTimeout = driver.manage().timeouts().getScriptTimeout();
+		boolean raiseScriptTimeout = timeout.plus(SCRIPT_TIMEOUT_MARGIN).compareTo(previousScriptTimeout) > 0;
+		try {
+			if (raiseScriptTimeout) {
+				driver.manage().timeouts().scriptTimeout(timeout.plus(SCRIPT_TIMEOUT_MARGIN));
+			}
+			Object result = ((JavascriptExecutor) driver).executeAsyncScript(OBSERVER_SCRIPT,
+					scriptLocator[0], scriptLocator[1], condition, arg, timeout.toMillis());
+			if (result == null) {
+				throw new TimeoutException("Expected condition '" + condition + "' for " + locator
+						+ " not met within " + timeout.toMillis() + " ms");
+			}
+			return result;
+		} catch (ScriptTimeoutException e) {
+			throw new TimeoutException("Expected condition '" + condition + "' for " + locator
+					+ " not met within " + timeout.toMillis() + " ms", e);
+		} catch (JavascriptException | UnsupportedCommandException e) {
+			// Script execution unavailable, or the page unloaded under the observer: poll for the remaining time
+			Duration remaining = timeout.minusNanos(System.nanoTime() - start);
+			return poll(driver, remaining.isNegative() ? Duration.ZERO : remaining, pollingCondition);
+		} finally {
+			if (raiseScriptTimeout) {
+				driver.manage().timeouts().scriptTimeout(previousScriptTimeout);
+			}
+		}
+	}
+
+	private static Object poll(WebDriver driver, Duration timeout, Supplier<ExpectedCondition<?>> condition) {
+		return new FluentWait<WebDriver>(driver)
+				.withTimeout(timeout)
+				.pollingEvery(POLLING)
+				.ignoring(NoSuchElementException.class)
+				.ignoring(StaleElementReferenceException.class)
+				.until(condition.get());
+	}
+
+	private static String attributeOrNull(WebDriver driver, By locator, String attribute) {
+		try {
+			return driver.findElement(locator).getAttribute(attribute);
+		} catch (NoSuchElementException e) {
+			return null;
+		}
+	}
+}
@@ -0,0 +1,201 @@
+package org.web.utilities;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Event-driven download detection on a WatchService: reacts to create/modify/delete (rename) events in the
+ * download directory instead of sleeping and comparing file sizes.
+ *
+ * A download is complete when the expected file exists and the browser's partial file for it is gone:
+ * - Chrome/Edge write "name.crdownload" (or "Unconfirmed NNN.crdownload") and rename it to "name" when done.
+ * - Firefox creates an empty "name" placeholder next to "name.part" and renames the .part file over it when done.
+ * If no partial file was seen (a browser or server writing the final name directly, or a rename that happened
+ * before the watcher looked), the file must also be non-empty and keep its size and modification time for 1 s.
+ *
+ * Pending files are also re-checked every 250 ms, which covers WatchService implementations that poll
+ * (macOS) and the window between a click and {@link #expect} being called.
+ */
+public final class DownloadWatcher implements AutoCloseable {
+
+	private static final List<String> PARTIAL_SUFFIXES = List.of(".crdownload", ".part", ".tmp", ".download");
+	private static final long RECHECK_MILLIS = 250;
+	private static final long STABLE_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+	private final Path dir;
+	private final WatchService watchService;
+	private final Map<String, CompletableFuture<Path>> pending = new ConcurrentHashMap<>();
+	// Per pending file name: whether a partial file was seen, and the last size observation
+	private final Map<String, Observation> observations = new ConcurrentHashMap<>();
+	private final Thread thread;
+
+	private static final class Observation {
+		boolean sawPartial;
+		long size = -1;
+		long modified;
+		long since;
+	}
+
+	private DownloadWatcher(Path dir) throws IOException {
+		this.dir = dir;
+		this.watchService = dir.getFileSystem().newWatchService();
+		dir.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+		this.thread = new Thread(this::run, "download-watcher-" + dir.getFileName());
+		this.thread.setDaemon(true);
+		this.thread.start();
+	}
+
+	/**
+	 * Starts watching the directory. Close the watcher (try-with-resources) when the test is done.
+	 */
+	public static DownloadWatcher watch(Path downloadDir) throws IOException {
+		return new DownloadWatcher(downloadDir);
+	}
+
+	/**
+	 * Completes with the file's path once the browser has finished writing it, or exceptionally with a
+	 * TimeoutException. Files that are already complete resolve immediately.
+	 */
+	public CompletableFuture<Path> expect(String fileName, Duration timeout) {
+		CompletableFuture<Path> future = pending.computeIfAbsent(fileName, name -> {
+			CompletableFuture<Path> created = new CompletableFuture<>();
+			created.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+					.whenComplete((path, error) -> {
+						pending.remove(name, created);
+						observations.remove(name);
+					});
+			return created;
+		});
+		check(fileName, future);
+		return future;
+	}
+
+	/**
+	 * Waits for several downloads at once; each future completes independently.
+	 * @return file name -> future, in the given order.
+	 */
+	public Map<String, CompletableFuture<Path>> expectAll(Collection<String> fileNames, Duration timeout) {
+		Map<String, CompletableFuture<Path>> futures = new LinkedHashMap<>();
+		for (String fileName : fileNames) {
+			futures.put(fileName, expect(fileName, timeout));
+		}
+		return futures;
+	}
+
+	@Override
+	public void close() {
+		thread.interrupt();
+		try {
+			watchService.close();
+		} catch (IOException e) {
+			// Nothing left to release
+		}
+		for (CompletableFuture<Path> future : pending.values()) {
+			future.cancel(false);
+		}
+	}
+
+	private void run() {
+		try {
+			long nextRecheck = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(RECHECK_MILLIS);
+			while (!Thread.currentThread().isInterrupted()) {
+				WatchKey key = watchService.poll(RECHECK_MILLIS, TimeUnit.MILLISECONDS);
+				if (key != null) {
+					for (WatchEvent<?> event : key.pollEvents()) {
+						if (event.kind() == OVERFLOW) {
+							checkAll();
+						} else {
+							String name = finalName(event.context().toString());
+							CompletableFuture<Path> future = pending.get(name);
+							if (future != null) {
+								check(name, future);
+							}
+						}
+					}
+					if (!key.reset()) {
+						return; // Directory deleted
+					}
+				}
+				// Also while other files keep the directory busy: a file written in place completes without an event
+				if (System.nanoTime() - nextRecheck >= 0) {
+					checkAll();
+					nextRecheck = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(RECHECK_MILLIS);
+				}
+			}
+		} catch (InterruptedException | ClosedWatchServiceException e) {
+			// Closed
+		}
+	}
+
+	private void checkAll() {
+		pending.forEach(this::check);
+	}
+
+	// Called from the watcher thread and from expect()
+	private synchronized void check(String fileName, CompletableFuture<Path> future) {
+		if (future.isDone()) {
+			return;
+		}
+		Observation observation = observations.computeIfAbsent(fileName, name -> new Observation());
+		for (String suffix : PARTIAL_SUFFIXES) {
+			if (Files.exists(dir.resolve(fileName + suffix))) {
+				observation.sawPartial = true;
+				return; // Still being written (Firefox placeholder, or Chrome renaming)
+			}
+		}
+		Path file = dir.resolve(fileName);
+		if (!Files.isRegularFile(file)) {
+			return;
+		}
+		if (observation.sawPartial) {
+			future.complete(file); // Renamed from the partial file: the browser is done with it
+			return;
+		}
+
+		// Written under its final name: complete once it stops changing
+		long size;
+		long modified;
+		try {
+			size = Files.size(file);
+			modified = Files.getLastModifiedTime(file).toMillis();
+		} catch (IOException e) {
+			return; // Deleted or renamed meanwhile; the next event re-checks
+		}
+		long now = System.nanoTime();
+		if (size != observation.size || modified != observation.modified) {
+			observation.size = size;
+			observation.modified = modified;
+			observation.since = now;
+		} else if (size > 0 && now - observation.since >= STABLE_NANOS) {
+			future.complete(file);
+		}
+	}
+
+	// "report.pdf.crdownload" -> "report.pdf"
+	private static String finalName(String fileName) {
+		for (String suffix : PARTIAL_SUFFIXES) {
+			if (fileName.endsWith(suffix)) {
+				return fileName.substring(0, fileName.length() - suffix.length());
+			}
+		}
+		return fileName;
+	}
+}
@@ -1,14 +1,14 @@
 package org.web.utilities;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.util.Comparator;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ExecutionException;
 import java.util.stream.Stream;
 
 /**
@@ -38,62 +38,30 @@ public class FileVerificationUtils {
 
 	/**
 	 * Calculates the SHA-256 hash of a file. Useful for verifying file integrity
-	 * after download.
+	 * after download. See {@link ChecksumEngine} for several algorithms in one pass
+	 * and parallel batch verification.
 	 */
 	public static String getFileChecksum(File file) throws IOException, NoSuchAlgorithmException {
-		MessageDigest digest = MessageDigest.getInstance("SHA-256");
-
-		try (FileInputStream fis = new FileInputStream(file)) {
-			byte[] byteArray = new byte[1024];
-			int bytesCount;
-			while ((bytesCount = fis.read(byteArray)) != -1) {
-				digest.update(byteArray, 0, bytesCount);
-			}
-		}
-
-		byte[] bytes = digest.digest();
-		StringBuilder sb = new StringBuilder();
-		for (byte b : bytes) {
-			sb.append(String.format("%02x", b));
-		}
-		return sb.toString();
+		return ChecksumEngine.compute(file.toPath(), ChecksumEngine.Algorithm.SHA256).get(ChecksumEngine.Algorithm.SHA256);
 	}
 
 	/**
 	 * Waits for a file to appear in the directory and ensures it is fully
-	 * downloaded by checking that the file size is stable and does not end in
-	 * .crdownload or .part.
+	 * downloaded: the browser's partial file (.crdownload, .part, .tmp) has been
+	 * renamed to the expected name, or the file was written under its own name
+	 * and its size has been stable for 1 s. Event-driven, see {@link DownloadWatcher}.
+	 * @return the file, or null if it did not complete within the timeout.
 	 */
 	public static File waitForDownloadToComplete(Path downloadDir, String expectedFileName, int timeoutSeconds) {
-		File targetFile = downloadDir.resolve(expectedFileName).toFile();
-		long endTime = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(timeoutSeconds);
-
-		while (System.currentTimeMillis() < endTime) {
-			// 1. Check if file exists
-			if (targetFile.exists()) {
-				
-				// 2. Check basic stability (size > 0 and size not changing)
-				long initialSize = targetFile.length();
-				try {
-					Thread.sleep(1000); // Wait 1 sec to see if size changes
-				} catch (InterruptedException e) {
-					Thread.currentThread().interrupt();
-				}
-				long finalSize = targetFile.length();
-
-				// 3. Ensure it's not a temporary browser file
-				if (initialSize > 0 && initialSize == finalSize && !targetFile.getName().endsWith(".crdownload")
-						&& !targetFile.getName().endsWith(".tmp")) {
-					return targetFile;
-				}
-			}
-
-			try {
-				Thread.sleep(500);
-			} catch (InterruptedException e) {
-				Thread.currentThread().interrupt();
-			}
+		try (DownloadWatcher watcher = DownloadWatcher.watch(downloadDir)) {
+			return watcher.expect(expectedFileName, Duration.ofSeconds(timeoutSeconds)).get().toFile();
+		} catch (ExecutionException e) {
+			return null; // Timed out
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return null;
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot watch download directory " + downloadDir, e);
 		}
-		return null; // File not found or timed out
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,90 @@
+package org.web.utilities;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Batched form fill: sets every input, textarea and select of a form in ONE executeScript call,
+ * instead of a findElement + sendKeys round trip (or Select + options lookups) per field.
+ *
+ * Each field receives focus, input, change and blur events, and values go through the native value setter,
+ * so framework bindings (React/Angular) and the app's validation still see the change.
+ * Fields flagged as keystroke-sensitive (autocomplete, masks, per-key handlers) are typed with real sendKeys.
+ */
+public final class FormFiller {
+
+	private static final String FILL_SCRIPT = ScriptLocators.FIND_FUNCTION
+			+ "var fields = arguments[0], failures = [];"
+			+ "fields.forEach(function (field) {"
+			+ "  var el = find(field[0], field[1]), value = field[2];"
+			+ "  if (!el) { failures.push(field[1] + ' (not found)'); return; }"
+			+ "  el.focus();"
+			+ "  if (el.tagName === 'SELECT') {"
+			+ "    var option = Array.prototype.find.call(el.options, function (o) { return o.value === value; })"
+			+ "        || Array.prototype.find.call(el.options, function (o) { return o.text.trim() === value; });"
+			+ "    if (!option) { failures.push(field[1] + ' (no option ' + value + ')'); return; }"
+			+ "    el.value = option.value;"
+			+ "  } else if (el.type === 'checkbox' || el.type === 'radio') {"
+			+ "    el.checked = (value === 'true' || value === el.value);"
+			+ "  } else {"
+			// Native setter: frameworks that track the value property still register the change
+			+ "    var proto = el.tagName === 'TEXTAREA' ? HTMLTextAreaElement.prototype : HTMLInputElement.prototype;"
+			+ "    Object.getOwnPropertyDescriptor(proto, 'value').set.call(el, value);"
+			+ "  }"
+			+ "  el.dispatchEvent(new Event('input', { bubbles: true }));"
+			+ "  el.dispatchEvent(new Event('change', { bubbles: true }));"
+			+ "  el.blur();"
+			+ "});"
+			+ "return failures;";
+
+	private FormFiller() {
+	}
+
+	/**
+	 * Fills all fields in one script execution.
+	 */
+	public static void fill(WebDriver driver, Map<By, String> values) {
+		fill(driver, values, Collections.<By>emptySet());
+	}
+
+	/**
+	 * Fills all fields in one script execution, except the keystroke-sensitive ones, which are typed
+	 * afterwards with sendKeys. Fields are processed in the map's iteration order (use a LinkedHashMap).
+	 * Fields with a null value (e.g. a JSON null for an optional field) are left as they are.
+	 * @throws NoSuchElementException listing every field that could not be found or set.
+	 */
+	public static void fill(WebDriver driver, Map<By, String> values, Set<By> keystrokeSensitive) {
+		List<List<String>> batch = new ArrayList<>();
+		List<By> typed = new ArrayList<>();
+		for (Map.Entry<By, String> field : values.entrySet()) {
+			if (field.getValue() == null) {
+				continue;
+			}
+			String[] locator = ScriptLocators.toScriptLocator(field.getKey());
+			if (locator == null || keystrokeSensitive.contains(field.getKey())) {
+				typed.add(field.getKey());
+			} else {
+				batch.add(List.of(locator[0], locator[1], field.getValue()));
+			}
+		}
+
+		if (!batch.isEmpty()) {
+			List<?> failures = (List<?>) ((JavascriptExecutor) driver).executeScript(FILL_SCRIPT, batch);
+			if (!failures.isEmpty()) {
+				throw new NoSuchElementException("Could not fill form field(s): " + failures);
+			}
+		}
+
+		for (By locator : typed) {
+			driver.findElement(locator).sendKeys(values.get(locator));
+		}
+	}
+}
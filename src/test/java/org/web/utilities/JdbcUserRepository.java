@@ -0,0 +1,345 @@
+package org.web.utilities;
+
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The 'users' table in an embedded H2 database, in memory or on disk, so DB assertions run real SQL
+ * (constraints, transactions, indexes) while staying offline.
+ *
+ * - A small fixed pool of connections (-Ddb.pool.size, default 4) is shared by the test threads.
+ * - Each pooled connection keeps its PreparedStatements, so every statement is parsed once per connection.
+ * - {@link #seedAll} sends JDBC batches of {@value #BATCH_SIZE} rows, one transaction per batch.
+ *
+ * Configuration: -Ddb.url (default in-memory, e.g. jdbc:h2:./target/users-db for a file), -Ddb.user, -Ddb.password.
+ */
+public final class JdbcUserRepository implements UserRepository, AutoCloseable {
+
+	static final int BATCH_SIZE = 1000;
+
+	private static final String DUPLICATE_KEY = "23505";
+
+	private static final String CREATE_TABLE = "CREATE TABLE IF NOT EXISTS users ("
+			+ "email VARCHAR(320) PRIMARY KEY, password VARCHAR(255), role VARCHAR(64), status VARCHAR(32))";
+	private static final String CREATE_ROLE_INDEX = "CREATE INDEX IF NOT EXISTS users_role ON users(role)";
+	private static final String CREATE_STATUS_INDEX = "CREATE INDEX IF NOT EXISTS users_status ON users(status)";
+
+	private static final String INSERT = "INSERT INTO users (email, password, role, status) VALUES (?, ?, ?, ?)";
+	private static final String UPSERT = "MERGE INTO users (email, password, role, status) KEY (email) VALUES (?, ?, ?, ?)";
+	// Inserts only missing rows; the update count (0 or 1) says whether the row was new
+	private static final String INSERT_MISSING = "MERGE INTO users USING (VALUES (CAST(? AS VARCHAR(320)),"
+			+ " CAST(? AS VARCHAR(255)), CAST(? AS VARCHAR(64)), CAST(? AS VARCHAR(32)))) AS s(email, password, role, status)"
+			+ " ON users.email = s.email"
+			+ " WHEN NOT MATCHED THEN INSERT (email, password, role, status) VALUES (s.email, s.password, s.role, s.status)";
+	private static final String SELECT = "SELECT email, password, role, status FROM users WHERE email = ?";
+	private static final String SELECT_BY_ROLE = "SELECT email, password, role, status FROM users WHERE role = ?";
+	private static final String SELECT_BY_STATUS = "SELECT email, password, role, status FROM users WHERE status = ?";
+	private static final String EXISTS = "SELECT 1 FROM users WHERE email = ?";
+	private static final String DELETE = "DELETE FROM users WHERE email = ?";
+	private static final String COUNT = "SELECT COUNT(*) FROM users";
+	private static final String DELETE_ALL = "DELETE FROM users";
+
+	private final String url;
+	private final String user;
+	private final String password;
+	private final long borrowTimeoutMillis;
+	private final BlockingQueue<PooledConnection> idle;
+	private final List<PooledConnection> all = new ArrayList<>();
+	private volatile boolean closed;
+
+	/**
+	 * A pooled connection with its prepared-statement cache. Only used by the thread that borrowed it.
+	 */
+	private static final class PooledConnection {
+		final Connection connection;
+		final Map<String, PreparedStatement> statements = new HashMap<>();
+
+		PooledConnection(Connection connection) {
+			this.connection = connection;
+		}
+
+		PreparedStatement prepare(String sql) throws SQLException {
+			PreparedStatement statement = statements.get(sql);
+			if (statement == null) {
+				statement = connection.prepareStatement(sql);
+				statements.put(sql, statement);
+			}
+			return statement;
+		}
+
+		void close() {
+			try {
+				connection.close(); // Also closes the cached statements
+			} catch (SQLException e) {
+				System.err.println("Could not close DB connection: " + e.getMessage());
+			}
+		}
+	}
+
+	@FunctionalInterface
+	private interface SqlWork<T> {
+		T run(PooledConnection connection) throws SQLException;
+	}
+
+	/**
+	 * Opens poolSize connections to url and creates the 'users' table and its indexes if needed.
+	 */
+	public JdbcUserRepository(String url, String user, String password, int poolSize) {
+		if (poolSize < 1) {
+			throw new IllegalArgumentException("poolSize must be >= 1, was " + poolSize);
+		}
+		this.url = url;
+		this.user = user;
+		this.password = password;
+		this.borrowTimeoutMillis = Long.getLong("db.pool.timeoutMillis", 30_000);
+		this.idle = new ArrayBlockingQueue<>(poolSize);
+		try {
+			for (int i = 0; i < poolSize; i++) {
+				PooledConnection connection = new PooledConnection(DriverManager.getConnection(url, user, password));
+				all.add(connection);
+				idle.add(connection);
+			}
+			try (Statement ddl = all.get(0).connection.createStatement()) {
+				ddl.execute(CREATE_TABLE);
+				ddl.execute(CREATE_ROLE_INDEX);
+				ddl.execute(CREATE_STATUS_INDEX);
+			}
+		} catch (SQLException e) {
+			close();
+			throw new IllegalStateException("Could not open users database " + url, e);
+		}
+	}
+
+	/**
+	 * Repository configured by -Ddb.url, -Ddb.user, -Ddb.password and -Ddb.pool.size; closed on JVM shutdown.
+	 */
+	public static JdbcUserRepository fromSystemProperties() {
+		JdbcUserRepository repository = new JdbcUserRepository(
+				System.getProperty("db.url", "jdbc:h2:mem:users;DB_CLOSE_DELAY=-1"),
+				System.getProperty("db.user", "sa"),
+				System.getProperty("db.password", ""),
+				Integer.getInteger("db.pool.size", 4));
+		Runtime.getRuntime().addShutdownHook(new Thread(repository::close, "users-db-shutdown"));
+		System.out.println("[DB-LOG] Using H2 users table at " + repository.url);
+		return repository;
+	}
+
+	@Override
+	public boolean insertIfAbsent(UserRecord record) {
+		return execute(connection -> {
+			PreparedStatement insert = bind(connection.prepare(INSERT), record);
+			try {
+				return insert.executeUpdate() == 1;
+			} catch (SQLException e) {
+				if (DUPLICATE_KEY.equals(e.getSQLState())) {
+					return false;
+				}
+				throw e;
+			}
+		});
+	}
+
+	@Override
+	public void upsert(UserRecord record) {
+		execute(connection -> bind(connection.prepare(UPSERT), record).executeUpdate());
+	}
+
+	/**
+	 * Inserts the missing rows in JDBC batches, committing after each batch. If a batch fails (e.g. another
+	 * thread inserted one of its emails in the meantime) it is rolled back and replayed row by row.
+	 */
+	@Override
+	public int seedAll(Collection<UserRecord> users) {
+		List<UserRecord> rows = new ArrayList<>(users);
+		return execute(connection -> {
+			Connection db = connection.connection;
+			PreparedStatement insert = connection.prepare(INSERT_MISSING);
+			int inserted = 0;
+			db.setAutoCommit(false);
+			try {
+				for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+					List<UserRecord> batch = rows.subList(from, Math.min(from + BATCH_SIZE, rows.size()));
+					try {
+						for (UserRecord record : batch) {
+							bind(insert, record).addBatch();
+						}
+						inserted += sum(insert.executeBatch());
+						db.commit();
+					} catch (BatchUpdateException e) {
+						insert.clearBatch();
+						db.rollback();
+						inserted += insertOneByOne(connection, batch);
+					}
+				}
+			} catch (SQLException e) {
+				db.rollback();
+				throw e;
+			} finally {
+				db.setAutoCommit(true);
+			}
+			return inserted;
+		});
+	}
+
+	private static int insertOneByOne(PooledConnection connection, List<UserRecord> batch) throws SQLException {
+		PreparedStatement insert = connection.prepare(INSERT_MISSING);
+		int inserted = 0;
+		for (UserRecord record : batch) {
+			try {
+				inserted += bind(insert, record).executeUpdate();
+				connection.connection.commit();
+			} catch (SQLException e) {
+				connection.connection.rollback();
+				if (!DUPLICATE_KEY.equals(e.getSQLState())) {
+					throw e;
+				}
+			}
+		}
+		return inserted;
+	}
+
+	@Override
+	public UserRecord get(String email) {
+		return execute(connection -> {
+			List<UserRecord> found = query(connection.prepare(SELECT), email);
+			return found.isEmpty() ? null : found.get(0);
+		});
+	}
+
+	@Override
+	public boolean contains(String email) {
+		return execute(connection -> {
+			PreparedStatement exists = connection.prepare(EXISTS);
+			exists.setString(1, email);
+			try (ResultSet result = exists.executeQuery()) {
+				return result.next();
+			}
+		});
+	}
+
+	@Override
+	public boolean delete(String email) {
+		return execute(connection -> {
+			PreparedStatement delete = connection.prepare(DELETE);
+			delete.setString(1, email);
+			return delete.executeUpdate() > 0;
+		});
+	}
+
+	@Override
+	public List<UserRecord> findByRole(String role) {
+		return execute(connection -> query(connection.prepare(SELECT_BY_ROLE), role));
+	}
+
+	@Override
+	public List<UserRecord> findByStatus(String status) {
+		return execute(connection -> query(connection.prepare(SELECT_BY_STATUS), status));
+	}
+
+	@Override
+	public int size() {
+		return execute(connection -> {
+			try (ResultSet result = connection.prepare(COUNT).executeQuery()) {
+				result.next();
+				return result.getInt(1);
+			}
+		});
+	}
+
+	@Override
+	public void clear() {
+		execute(connection -> connection.prepare(DELETE_ALL).executeUpdate());
+	}
+
+	/**
+	 * True if a pooled connection answers within 2 seconds.
+	 */
+	@Override
+	public boolean isConnected() {
+		if (closed) {
+			return false;
+		}
+		try {
+			return execute(connection -> connection.connection.isValid(2));
+		} catch (IllegalStateException e) {
+			return false;
+		}
+	}
+
+	@Override
+	public void close() {
+		closed = true;
+		for (PooledConnection connection : all) {
+			connection.close();
+		}
+	}
+
+	private <T> T execute(SqlWork<T> work) {
+		PooledConnection connection = borrow();
+		try {
+			return work.run(connection);
+		} catch (SQLException e) {
+			throw new IllegalStateException("Users database error (" + e.getSQLState() + "): " + e.getMessage(), e);
+		} finally {
+			idle.add(connection);
+		}
+	}
+
+	private PooledConnection borrow() {
+		if (closed) {
+			throw new IllegalStateException("Users database " + url + " is closed");
+		}
+		try {
+			PooledConnection connection = idle.poll(borrowTimeoutMillis, TimeUnit.MILLISECONDS);
+			if (connection == null) {
+				throw new IllegalStateException("No free DB connection after " + borrowTimeoutMillis + " ms (pool size "
+						+ all.size() + ")");
+			}
+			return connection;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for a DB connection", e);
+		}
+	}
+
+	private static PreparedStatement bind(PreparedStatement statement, UserRecord record) throws SQLException {
+		statement.setString(1, record.email());
+		statement.setString(2, record.password());
+		statement.setString(3, record.role());
+		statement.setString(4, record.status());
+		return statement;
+	}
+
+	private static List<UserRecord> query(PreparedStatement statement, String value) throws SQLException {
+		statement.setString(1, value);
+		List<UserRecord> found = new ArrayList<>();
+		try (ResultSet result = statement.executeQuery()) {
+			while (result.next()) {
+				found.add(new UserRecord(result.getString(1), result.getString(2), result.getString(3), result.getString(4)));
+			}
+		}
+		return found;
+	}
+
+	private static int sum(int[] counts) {
+		int total = 0;
+		for (int count : counts) {
+			// SUCCESS_NO_INFO (-2) cannot happen with H2, which reports exact counts
+			total += Math.max(count, 0);
+		}
+		return total;
+	}
+}
@@ -0,0 +1,25 @@
+package org.web.utilities;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+/**
+ * Waits for the {@link ScreenshotService} background writer at suite end, so every failure screenshot
+ * is on disk before reports are read, then applies the {@link ArtifactStore} eviction policy.
+ * Registered in testng.xml.
+ */
+public class ScreenshotListener implements ISuiteListener {
+
+	@Override
+	public void onFinish(ISuite suite) {
+		ScreenshotService.flush(Duration.ofSeconds(60));
+		try {
+			ArtifactStore.shared().evict();
+		} catch (IOException e) {
+			System.err.println("Artifact eviction failed: " + e.getMessage());
+		}
+	}
+}
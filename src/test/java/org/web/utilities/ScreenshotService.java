@@ -0,0 +1,145 @@
+package org.web.utilities;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Asynchronous screenshot pipeline. The test thread only asks the browser for the screenshot (kept in memory,
+ * as the base64 string the driver receives, no temp file); decoding, optional re-encoding and the disk write
+ * run on a small background writer.
+ *
+ * - Back-pressure: the writer queue is bounded; when it is full the test thread writes the screenshot itself,
+ *   so memory stays bounded when many parallel tests fail at once.
+ * - Storage: the {@link ArtifactStore} (target/artifacts), content-addressed, so repeated identical failures
+ *   cost one file; the index records test, browser and time of every capture.
+ * - {@link ScreenshotListener} flushes pending writes at suite end (a shutdown hook is the safety net).
+ *
+ * System properties:
+ * - screenshot.format: png (as captured, default), png-max (re-deflated, smaller, slower) or jpg (quality 0.85).
+ * - screenshot.queue: writer queue capacity, default 16.
+ */
+public final class ScreenshotService {
+
+	private static final String FORMAT = System.getProperty("screenshot.format", "png").toLowerCase();
+	private static final int QUEUE_CAPACITY = Integer.getInteger("screenshot.queue", 16);
+	private static final int WRITER_THREADS = 2;
+
+	private static final AtomicInteger THREAD_NUMBER = new AtomicInteger();
+
+	private static final ThreadPoolExecutor WRITER = new ThreadPoolExecutor(WRITER_THREADS, WRITER_THREADS,
+			30, TimeUnit.SECONDS, new ArrayBlockingQueue<>(QUEUE_CAPACITY), runnable -> {
+				Thread thread = new Thread(runnable, "screenshot-writer-" + THREAD_NUMBER.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			}, new ThreadPoolExecutor.CallerRunsPolicy());
+
+	static {
+		WRITER.allowCoreThreadTimeOut(true);
+		Runtime.getRuntime().addShutdownHook(new Thread(() -> flush(Duration.ofSeconds(30)), "screenshot-flush"));
+	}
+
+	private ScreenshotService() {
+	}
+
+	/**
+	 * Captures the current page and queues it for writing.
+	 * @return completes with the written file, or exceptionally if it could not be written.
+	 */
+	public static CompletableFuture<Path> capture(WebDriver driver, String methodName, String browserName) {
+		String base64 = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BASE64);
+		return CompletableFuture.supplyAsync(() -> write(methodName, browserName, base64), WRITER);
+	}
+
+	/**
+	 * Waits until every queued screenshot is on disk.
+	 * @return false if writes were still pending after the timeout.
+	 */
+	public static boolean flush(Duration timeout) {
+		long deadline = System.nanoTime() + timeout.toNanos();
+		while (WRITER.getActiveCount() > 0 || !WRITER.getQueue().isEmpty()) {
+			if (System.nanoTime() > deadline) {
+				System.err.println("[SCREENSHOT] " + (WRITER.getActiveCount() + WRITER.getQueue().size())
+						+ " screenshot(s) still pending after " + timeout.toMillis() + " ms");
+				return false;
+			}
+			try {
+				Thread.sleep(10);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static Path write(String methodName, String browserName, String base64) {
+		try {
+			byte[] png = Base64.getMimeDecoder().decode(base64);
+			String extension = FORMAT.equals("jpg") ? "jpg" : "png";
+			byte[] bytes;
+			if (FORMAT.equals("jpg")) {
+				bytes = reencode(png, "jpg", 0.85f);
+			} else if (FORMAT.equals("png-max")) {
+				bytes = reencode(png, "png", 0f); // PNG quality 0 = strongest deflate
+			} else {
+				bytes = png;
+			}
+			Path file = ArtifactStore.shared().put(bytes, extension, methodName, browserName, "screenshot").path();
+			System.out.println("Screenshot captured successfully: " + file.toAbsolutePath());
+			return file;
+		} catch (IOException e) {
+			System.err.println("Error saving screenshot: " + e.getMessage());
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static byte[] reencode(byte[] png, String format, float quality) throws IOException {
+		BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+		if (format.equals("jpg")) {
+			// JPEG has no alpha channel
+			BufferedImage rgb = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+			rgb.createGraphics().drawImage(image, 0, 0, null);
+			image = rgb;
+		}
+		Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(format);
+		if (!writers.hasNext()) {
+			return png;
+		}
+		ImageWriter writer = writers.next();
+		ByteArrayOutputStream out = new ByteArrayOutputStream(png.length);
+		try (ImageOutputStream stream = ImageIO.createImageOutputStream(out)) {
+			writer.setOutput(stream);
+			ImageWriteParam param = writer.getDefaultWriteParam();
+			if (param.canWriteCompressed()) {
+				param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+				param.setCompressionQuality(quality);
+			}
+			writer.write(null, new IIOImage(image, null, null), param);
+		} finally {
+			writer.dispose();
+		}
+		return out.toByteArray();
+	}
+}
@@ -0,0 +1,62 @@
+package org.web.utilities;
+
+import org.openqa.selenium.By;
+
+/**
+ * Translates a Selenium {@link By} into a locator that in-page JavaScript can resolve,
+ * so helpers that run a single executeScript/executeAsyncScript can find elements without
+ * a findElement round trip per element.
+ *
+ * Supported: By.id, By.name, By.className, By.tagName, By.cssSelector and By.xpath.
+ * Link-text locators have no JavaScript equivalent and return null; callers fall back to WebDriver.
+ */
+public final class ScriptLocators {
+
+	/**
+	 * JavaScript function source: find(using, value, root) returns the first match or null,
+	 * findAll(using, value, root) an array of matches. Prepend it to a script that calls them.
+	 */
+	public static final String FIND_FUNCTION =
+			"function toCss(using, value) {"
+			+ "  if (using === 'id') { return '#' + CSS.escape(value); }"
+			+ "  if (using === 'name') { return '[name=\"' + CSS.escape(value) + '\"]'; }"
+			+ "  if (using === 'class name') { return '.' + CSS.escape(value); }"
+			+ "  return value;"
+			+ "}"
+			+ "function findAll(using, value, root) {"
+			+ "  root = root || document;"
+			+ "  if (using === 'xpath') {"
+			+ "    var snapshot = document.evaluate(value, root, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);"
+			+ "    var nodes = [];"
+			+ "    for (var i = 0; i < snapshot.snapshotLength; i++) { nodes.push(snapshot.snapshotItem(i)); }"
+			+ "    return nodes;"
+			+ "  }"
+			+ "  return Array.prototype.slice.call(root.querySelectorAll(toCss(using, value)));"
+			+ "}"
+			+ "function find(using, value, root) {"
+			+ "  root = root || document;"
+			+ "  if (using === 'xpath') {"
+			+ "    return document.evaluate(value, root, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;"
+			+ "  }"
+			+ "  return root.querySelector(toCss(using, value));"
+			+ "}";
+
+	private ScriptLocators() {
+	}
+
+	/**
+	 * @return {using, value} in W3C locator terms (e.g. "css selector", "xpath", "id"),
+	 *         or null if the locator cannot be resolved in-page.
+	 */
+	public static String[] toScriptLocator(By by) {
+		if (!(by instanceof By.Remotable)) {
+			return null;
+		}
+		By.Remotable.Parameters params = ((By.Remotable) by).getRemoteParameters();
+		String using = params.using();
+		if ("link text".equals(using) || "partial link text".equals(using)) {
+			return null;
+		}
+		return new String[] { using, String.valueOf(params.value()) };
+	}
+}
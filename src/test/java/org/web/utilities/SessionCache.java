@@ -0,0 +1,217 @@
+package org.web.utilities;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+import com.google.gson.Gson;
+
+/**
+ * Logs in once per browser and user, then reuses the session: cookies plus localStorage/sessionStorage are
+ * captured after the first UI login and injected into later sessions before their first page load, so
+ * authenticated tests skip the login form.
+ *
+ * Injection:
+ * - Chromium (Chrome/Edge): CDP Network.setCookies, and a one-shot Page.addScriptToEvaluateOnNewDocument that
+ *   fills web storage before the app's scripts run. No extra navigation.
+ * - Other browsers: one lightweight request to the site's origin (/favicon.ico) to set cookies and storage there.
+ *
+ * An entry is invalidated when it reaches -Dsession.cache.maxAgeMinutes (default 30), when its earliest cookie
+ * expires, or when the caller's logged-in check fails after injection (server-side logout); the next
+ * {@link #open} then logs in through the UI again.
+ */
+public final class SessionCache {
+
+	private static final long MAX_AGE_MILLIS = Long.getLong("session.cache.maxAgeMinutes", 30) * 60_000;
+
+	private static final String CAPTURE_STORAGE = "function dump(s) { var o = {};"
+			+ "  for (var i = 0; i < s.length; i++) { var k = s.key(i); o[k] = s.getItem(k); } return o; }"
+			+ "try { return { local: dump(window.localStorage), session: dump(window.sessionStorage) }; }"
+			+ "catch (e) { return { local: {}, session: {} }; }";
+
+	// arguments[0]/[1]: localStorage/sessionStorage items to set
+	private static final String FILL_STORAGE = "var local = arguments[0], session = arguments[1];"
+			+ "try {"
+			+ "  Object.keys(local).forEach(function (k) { window.localStorage.setItem(k, local[k]); });"
+			+ "  Object.keys(session).forEach(function (k) { window.sessionStorage.setItem(k, session[k]); });"
+			+ "} catch (e) {}";
+
+	private static final Gson GSON = new Gson();
+	private static final Map<String, Session> SESSIONS = new ConcurrentHashMap<>();
+	private static final Map<String, Object> LOCKS = new ConcurrentHashMap<>();
+
+	private SessionCache() {
+	}
+
+	/**
+	 * A captured authenticated state.
+	 */
+	private static final class Session {
+		final String landingUrl;
+		final String origin;
+		final List<Cookie> cookies;
+		final Map<String, String> localStorage;
+		final Map<String, String> sessionStorage;
+		final long expiresAt;
+
+		Session(String landingUrl, List<Cookie> cookies, Map<String, String> localStorage,
+				Map<String, String> sessionStorage) {
+			this.landingUrl = landingUrl;
+			this.origin = origin(landingUrl);
+			this.cookies = Collections.unmodifiableList(cookies);
+			this.localStorage = Collections.unmodifiableMap(localStorage);
+			this.sessionStorage = Collections.unmodifiableMap(sessionStorage);
+			long expiry = System.currentTimeMillis() + MAX_AGE_MILLIS;
+			for (Cookie cookie : cookies) {
+				if (cookie.getExpiry() != null) {
+					expiry = Math.min(expiry, cookie.getExpiry().getTime());
+				}
+			}
+			this.expiresAt = expiry;
+		}
+
+		boolean expired() {
+			return System.currentTimeMillis() >= expiresAt;
+		}
+	}
+
+	/**
+	 * Opens an authenticated page for user in driver, a fresh session (nothing loaded yet).
+	 * If a valid cached session exists it is injected and its landing page opened; otherwise loginFlow runs
+	 * (it must end on the logged-in landing page) and the resulting state is cached. Parallel callers with the
+	 * same browser and user wait for one login instead of each logging in.
+	 * @param loggedIn checks that the current page shows a logged-in user; false after injection invalidates the entry.
+	 * @return true if the cached session was reused, false if loginFlow ran.
+	 */
+	public static boolean open(WebDriver driver, String browser, String user, Consumer<WebDriver> loginFlow,
+			Predicate<WebDriver> loggedIn) {
+		String key = key(browser, user);
+		synchronized (LOCKS.computeIfAbsent(key, k -> new Object())) {
+			Session session = SESSIONS.get(key);
+			if (session != null && session.expired()) {
+				System.out.println("[SESSION-CACHE] Session of " + user + " on " + browser + " expired.");
+				SESSIONS.remove(key);
+				session = null;
+			}
+			if (session != null) {
+				inject(driver, session);
+				if (loggedIn.test(driver)) {
+					System.out.println("[SESSION-CACHE] Reused session of " + user + " on " + browser + ".");
+					return true;
+				}
+				System.out.println("[SESSION-CACHE] Cached session of " + user + " on " + browser + " was logged out.");
+				SESSIONS.remove(key);
+				driver.manage().deleteAllCookies();
+			}
+
+			loginFlow.accept(driver);
+			SESSIONS.put(key, capture(driver));
+			System.out.println("[SESSION-CACHE] Logged in " + user + " on " + browser + " and cached the session.");
+			return false;
+		}
+	}
+
+	/**
+	 * Drops the cached session, e.g. after a test logged the user out.
+	 */
+	public static void invalidate(String browser, String user) {
+		SESSIONS.remove(key(browser, user));
+	}
+
+	private static String key(String browser, String user) {
+		return browser.toLowerCase() + "|" + user;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Session capture(WebDriver driver) {
+		Map<String, Object> storage = (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(CAPTURE_STORAGE);
+		return new Session(driver.getCurrentUrl(), new ArrayList<>(driver.manage().getCookies()),
+				strings((Map<String, Object>) storage.get("local")), strings((Map<String, Object>) storage.get("session")));
+	}
+
+	private static Map<String, String> strings(Map<String, Object> items) {
+		Map<String, String> values = new LinkedHashMap<>();
+		if (items != null) {
+			items.forEach((name, value) -> values.put(name, value == null ? null : value.toString()));
+		}
+		return values;
+	}
+
+	private static void inject(WebDriver driver, Session session) {
+		if (driver instanceof HasCdp) {
+			HasCdp cdp = (HasCdp) driver;
+			List<Map<String, Object>> cookies = new ArrayList<>();
+			for (Cookie cookie : session.cookies) {
+				cookies.add(cdpCookie(cookie, session.origin));
+			}
+			if (!cookies.isEmpty()) {
+				cdp.executeCdpCommand("Network.setCookies", Map.of("cookies", cookies));
+			}
+			String identifier = null;
+			if (!session.localStorage.isEmpty() || !session.sessionStorage.isEmpty()) {
+				// Only for the first document of the session's origin; removed again right after the navigation
+				String script = "if (location.origin === " + GSON.toJson(session.origin) + ") { (function () {"
+						+ FILL_STORAGE + "}).call(null, " + GSON.toJson(session.localStorage) + ", "
+						+ GSON.toJson(session.sessionStorage) + "); }";
+				identifier = String.valueOf(cdp.executeCdpCommand("Page.addScriptToEvaluateOnNewDocument",
+						Map.of("source", script)).get("identifier"));
+			}
+			try {
+				driver.get(session.landingUrl);
+			} finally {
+				if (identifier != null) {
+					cdp.executeCdpCommand("Page.removeScriptToEvaluateOnNewDocument", Map.of("identifier", identifier));
+				}
+			}
+			return;
+		}
+
+		// WebDriver can only set cookies and storage for the current document's origin
+		driver.get(session.origin + "/favicon.ico");
+		for (Cookie cookie : session.cookies) {
+			driver.manage().addCookie(cookie);
+		}
+		((JavascriptExecutor) driver).executeScript(FILL_STORAGE, session.localStorage, session.sessionStorage);
+		driver.get(session.landingUrl);
+	}
+
+	private static Map<String, Object> cdpCookie(Cookie cookie, String origin) {
+		Map<String, Object> params = new HashMap<>();
+		params.put("name", cookie.getName());
+		params.put("value", cookie.getValue());
+		params.put("path", cookie.getPath() == null ? "/" : cookie.getPath());
+		if (cookie.getDomain() != null) {
+			params.put("domain", cookie.getDomain());
+		} else {
+			params.put("url", origin);
+		}
+		params.put("secure", cookie.isSecure());
+		params.put("httpOnly", cookie.isHttpOnly());
+		Date expiry = cookie.getExpiry();
+		if (expiry != null) {
+			params.put("expires", expiry.getTime() / 1000.0);
+		}
+		if (cookie.getSameSite() != null) {
+			params.put("sameSite", cookie.getSameSite());
+		}
+		return params;
+	}
+
+	private static String origin(String url) {
+		URI uri = URI.create(url);
+		return uri.getScheme() + "://" + uri.getAuthority();
+	}
+}
@@ -0,0 +1,213 @@
+package org.web.utilities;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Per-thread snapshot/restore on top of any {@link UserRepository}.
+ *
+ * Every write goes straight to the shared repository (in memory or H2), so uniqueness checks stay global and
+ * atomic: two parallel tests can never both insert the same email. {@link #snapshot()} starts an undo log for the
+ * calling thread: the first time the thread writes an email after the snapshot, the row's previous value (or its
+ * absence) is remembered. {@link #restore(Snapshot)} puts those rows back, so rolling back costs one write per
+ * email touched, however often each was written, including rows written indirectly by helpers on the same thread.
+ *
+ * Isolation is by key, not by transaction: committed rows are visible to every thread while the snapshot is open,
+ * and restoring undoes only this thread's writes. Tests must therefore work on their own emails (see
+ * UserFixtureFactory); if another thread writes the same email in the meantime, restore still puts back the value
+ * seen before this thread's first write. Snapshots nest; restoring one also restores the snapshots taken after it.
+ * {@link #clear()} is refused inside a snapshot, since it would wipe other threads' rows.
+ */
+public final class SnapshotUserRepository implements UserRepository {
+
+	private final UserRepository base;
+	private final ThreadLocal<Layer> top = new ThreadLocal<>();
+
+	/**
+	 * One undo log. Only touched by its owning thread, so a plain map is enough.
+	 */
+	private static final class Layer {
+		final Layer parent;
+		final Thread owner = Thread.currentThread();
+		// email -> row before this layer's first write to it (null: the email did not exist)
+		final Map<String, UserRecord> before = new LinkedHashMap<>();
+
+		Layer(Layer parent) {
+			this.parent = parent;
+		}
+	}
+
+	/**
+	 * A restore point for the thread that took it. Closing it restores it, for try-with-resources.
+	 */
+	public final class Snapshot implements AutoCloseable {
+		private final Layer layer;
+
+		private Snapshot(Layer layer) {
+			this.layer = layer;
+		}
+
+		@Override
+		public void close() {
+			restore(this);
+		}
+	}
+
+	public SnapshotUserRepository(UserRepository base) {
+		this.base = Objects.requireNonNull(base, "base");
+	}
+
+	/**
+	 * Marks a restore point for the current thread.
+	 */
+	public Snapshot snapshot() {
+		Layer layer = new Layer(top.get());
+		top.set(layer);
+		return new Snapshot(layer);
+	}
+
+	/**
+	 * Undoes everything the current thread wrote since the snapshot was taken (and any later snapshots).
+	 * Restoring a snapshot twice is a no-op.
+	 * @throws IllegalStateException if the snapshot belongs to another thread.
+	 */
+	public void restore(Snapshot snapshot) {
+		if (snapshot.layer.owner != Thread.currentThread()) {
+			throw new IllegalStateException("Snapshot taken by " + snapshot.layer.owner.getName()
+					+ " cannot be restored from " + Thread.currentThread().getName());
+		}
+		boolean active = false;
+		for (Layer layer = top.get(); layer != null; layer = layer.parent) {
+			if (layer == snapshot.layer) {
+				active = true;
+				break;
+			}
+		}
+		if (!active) {
+			return;
+		}
+		// Newest layer first, so an email touched in several layers ends at its oldest remembered value
+		Layer layer = top.get();
+		while (true) {
+			undo(layer);
+			if (layer == snapshot.layer) {
+				break;
+			}
+			layer = layer.parent;
+		}
+		if (snapshot.layer.parent == null) {
+			top.remove();
+		} else {
+			top.set(snapshot.layer.parent);
+		}
+	}
+
+	/**
+	 * True if the current thread has an active snapshot.
+	 */
+	public boolean inSnapshot() {
+		return top.get() != null;
+	}
+
+	@Override
+	public boolean insertIfAbsent(UserRecord user) {
+		Layer layer = top.get();
+		// The shared check-and-insert decides; a row this thread did not insert is not in its undo log
+		boolean inserted = base.insertIfAbsent(user);
+		if (inserted && layer != null) {
+			layer.before.putIfAbsent(user.email(), null);
+		}
+		return inserted;
+	}
+
+	@Override
+	public void upsert(UserRecord user) {
+		remember(user.email());
+		base.upsert(user);
+	}
+
+	@Override
+	public int seedAll(Collection<UserRecord> users) {
+		if (top.get() == null) {
+			return base.seedAll(users);
+		}
+		// Row by row, so the undo log knows which rows this call inserted
+		int inserted = 0;
+		for (UserRecord user : users) {
+			if (insertIfAbsent(user)) {
+				inserted++;
+			}
+		}
+		return inserted;
+	}
+
+	@Override
+	public UserRecord get(String email) {
+		return base.get(email);
+	}
+
+	@Override
+	public boolean contains(String email) {
+		return base.contains(email);
+	}
+
+	@Override
+	public boolean delete(String email) {
+		remember(email);
+		return base.delete(email);
+	}
+
+	@Override
+	public List<UserRecord> findByRole(String role) {
+		return base.findByRole(role);
+	}
+
+	@Override
+	public List<UserRecord> findByStatus(String status) {
+		return base.findByStatus(status);
+	}
+
+	@Override
+	public int size() {
+		return base.size();
+	}
+
+	/**
+	 * @throws IllegalStateException inside a snapshot: the table is shared, and clearing it would wipe other
+	 *         threads' rows.
+	 */
+	@Override
+	public void clear() {
+		if (top.get() != null) {
+			throw new IllegalStateException("clear() is not allowed inside a snapshot: the users table is shared");
+		}
+		base.clear();
+	}
+
+	@Override
+	public boolean isConnected() {
+		return base.isConnected();
+	}
+
+	// Records the row's current value before the layer's first write to it
+	private void remember(String email) {
+		Layer layer = top.get();
+		if (layer != null && !layer.before.containsKey(email)) {
+			layer.before.put(email, base.get(email));
+		}
+	}
+
+	private void undo(Layer layer) {
+		for (Map.Entry<String, UserRecord> row : layer.before.entrySet()) {
+			if (row.getValue() == null) {
+				base.delete(row.getKey());
+			} else {
+				base.upsert(row.getValue());
+			}
+		}
+		layer.before.clear();
+	}
+}
@@ -0,0 +1,160 @@
+package org.web.utilities;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.web.utilities.ChecksumEngine.Algorithm;
+import org.web.utilities.ChecksumEngine.Checksums;
+import org.web.utilities.ChecksumEngine.MultiDigest;
+
+/**
+ * Hash-while-downloading: tails the browser's partial file as it grows and feeds each new chunk into a
+ * {@link MultiDigest}, so size and hash are ready as soon as the browser renames the file, in a single I/O pass.
+ *
+ * The open channel follows the file through the browser's rename (same inode), so the bytes already hashed stay valid.
+ * If the final file turns out to be a different file (browser copied instead of renaming, or the partial file
+ * was never seen), the final file is hashed with {@link ChecksumEngine#compute} instead.
+ *
+ * Start the verifier BEFORE triggering the download.
+ */
+public final class StreamingDownloadVerifier {
+
+	private static final long IDLE_WAIT_MILLIS = 5;
+	private static final String[] PARTIAL_SUFFIXES = { ".crdownload", ".part", ".tmp", ".download" };
+
+	private static final ExecutorService TAILERS = Executors.newCachedThreadPool(runnable -> {
+		Thread thread = new Thread(runnable, "download-tailer");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private StreamingDownloadVerifier() {
+	}
+
+	/**
+	 * Starts tailing the download of fileName in downloadDir (default algorithm: SHA-256).
+	 * @return completes with the final size and checksums, or exceptionally with a TimeoutException.
+	 */
+	public static CompletableFuture<Checksums> start(Path downloadDir, String fileName, Duration timeout,
+			Algorithm... algorithms) {
+		DownloadWatcher watcher;
+		try {
+			watcher = DownloadWatcher.watch(downloadDir);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot watch download directory " + downloadDir, e);
+		}
+		CompletableFuture<Path> completed = watcher.expect(fileName, timeout);
+		long deadline = System.nanoTime() + timeout.toNanos();
+
+		return CompletableFuture.supplyAsync(() -> {
+			try {
+				return tail(downloadDir, fileName, completed, deadline, algorithms);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Interrupted while tailing " + fileName, e);
+			} catch (ExecutionException e) {
+				throw new IllegalStateException("Download of " + fileName + " did not complete", e.getCause());
+			} finally {
+				watcher.close();
+			}
+		}, TAILERS);
+	}
+
+	private static Checksums tail(Path dir, String fileName, CompletableFuture<Path> completed, long deadline,
+			Algorithm... algorithms) throws IOException, InterruptedException, ExecutionException {
+		MultiDigest digest = new MultiDigest(algorithms.length == 0 ? new Algorithm[] { Algorithm.SHA256 } : algorithms);
+		ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20);
+
+		// 1. Wait for the partial file to appear
+		Path growing = null;
+		while (growing == null && !completed.isDone()) {
+			growing = findGrowingFile(dir, fileName);
+			if (growing == null) {
+				awaitCompletion(completed, deadline);
+			}
+		}
+		if (growing == null) {
+			return ChecksumEngine.compute(completed.get(), algorithms); // Finished before we saw it, or written under its final name
+		}
+
+		try (FileChannel channel = FileChannel.open(growing, StandardOpenOption.READ)) {
+			Object fileKey = Files.readAttributes(growing, BasicFileAttributes.class).fileKey();
+
+			// 2. Hash every chunk as it lands, until the browser finalizes the file
+			while (true) {
+				boolean done = completed.isDone();
+				while (channel.read(buffer) > 0) {
+					buffer.flip();
+					digest.update(buffer);
+					buffer.clear();
+				}
+				if (done) {
+					break; // Read to EOF after completion: nothing more will be written
+				}
+				awaitCompletion(completed, deadline);
+			}
+
+			// 3. Make sure the hashed bytes are the final file
+			Path finalFile = completed.get();
+			Object finalKey = Files.readAttributes(finalFile, BasicFileAttributes.class).fileKey();
+			boolean sameFile = fileKey != null ? Objects.equals(fileKey, finalKey) : growing.equals(finalFile);
+			if (!sameFile || Files.size(finalFile) != digest.size()) {
+				return ChecksumEngine.compute(finalFile, algorithms);
+			}
+		}
+		return digest.finish();
+	}
+
+	// Waits a few ms for more data, returning early when the download completes
+	private static void awaitCompletion(CompletableFuture<Path> completed, long deadline)
+			throws InterruptedException, ExecutionException {
+		if (System.nanoTime() > deadline) {
+			completed.get(); // Throws the watcher's TimeoutException
+		}
+		try {
+			completed.get(IDLE_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+		} catch (TimeoutException e) {
+			// Still downloading
+		}
+	}
+
+	/**
+	 * "name.crdownload" / "name.part" / ..., or Chrome's single "Unconfirmed NNN.crdownload"; null if there is none
+	 * (yet). Never the final file: one written directly under its final name is hashed once it is complete.
+	 */
+	private static Path findGrowingFile(Path dir, String fileName) throws IOException {
+		for (String suffix : PARTIAL_SUFFIXES) {
+			Path partial = dir.resolve(fileName + suffix);
+			if (Files.isRegularFile(partial)) {
+				return partial;
+			}
+		}
+		Path unconfirmed = null;
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "Unconfirmed *.crdownload")) {
+			for (Path file : files) {
+				if (unconfirmed != null) {
+					return null; // Several unnamed downloads: cannot tell which one is ours yet
+				}
+				unconfirmed = file;
+			}
+		}
+		return unconfirmed;
+	}
+}
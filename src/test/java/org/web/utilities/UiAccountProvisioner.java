@@ -0,0 +1,76 @@
+package org.web.utilities;
+
+import org.openqa.selenium.WebDriver;
+import org.web.dataproviders.RegistrationData;
+import org.web.drivers.WebDriverPool;
+import org.web.pages.AutomationExerciseSignupPage;
+
+/**
+ * {@link AccountPool} provisioner for real automationexercise.com accounts: signs up and deletes them through
+ * the same page flow as RegistrationTests, on a browser leased from the {@link WebDriverPool}
+ * (-Daccounts.browser, default chrome). Each account is also recorded in {@link DatabaseUtil}.
+ */
+public class UiAccountProvisioner implements AccountPool.Provisioner {
+
+	static final String LOGIN_URL = "https://automationexercise.com/login";
+
+	private final String browser;
+
+	public UiAccountProvisioner() {
+		this(System.getProperty("accounts.browser", "chrome"));
+	}
+
+	public UiAccountProvisioner(String browser) {
+		this.browser = browser;
+	}
+
+	@Override
+	public RegistrationData create(RegistrationData user) {
+		WebDriver driver = WebDriverPool.lease(browser);
+		try {
+			driver.get(LOGIN_URL);
+			AutomationExerciseSignupPage page = new AutomationExerciseSignupPage(driver);
+			page.enter_signup_name(user.firstName());
+			page.enter_signup_email(user.email());
+			page.click_signup_btn();
+			page.fill_account_information(user);
+			page.click_create_account_btn();
+			if (!page.isAccountCreatedSuccessMessageDisplayed()) {
+				throw new IllegalStateException("Signup did not confirm account " + user.email());
+			}
+			DatabaseUtil.seedUser(user.email(), user.password(), user.role());
+			System.out.println("[ACCOUNT-POOL] Provisioned " + user.email() + " via UI");
+			return user;
+		} finally {
+			WebDriverPool.release(driver); // The pool reset logs the new account out
+		}
+	}
+
+	/**
+	 * Accounts keep no state between leases (the browser session is reset by the WebDriverPool),
+	 * so only the users table row is restored.
+	 */
+	@Override
+	public void reset(RegistrationData account) {
+		DatabaseUtil.seedUser(account.email(), account.password(), account.role());
+	}
+
+	@Override
+	public void destroy(RegistrationData account) {
+		WebDriver driver = WebDriverPool.lease(browser);
+		try {
+			driver.get(LOGIN_URL);
+			AutomationExerciseSignupPage page = new AutomationExerciseSignupPage(driver);
+			page.enter_login_email(account.email());
+			page.enter_login_password(account.password());
+			page.click_login_btn();
+			page.click_delete_account_link();
+			if (!page.isAccountDeletedSuccessMessageDisplayed()) {
+				throw new IllegalStateException("Account deletion not confirmed for " + account.email());
+			}
+		} finally {
+			WebDriverPool.release(driver);
+			DatabaseUtil.deleteUser(account.email());
+		}
+	}
+}
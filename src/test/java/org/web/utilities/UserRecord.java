@@ -0,0 +1,73 @@
+package org.web.utilities;
+
+import java.util.Objects;
+
+/**
+ * One row of the mock 'users' table. Immutable: updates create a new row (see {@link #withStatus}).
+ */
+public final class UserRecord {
+
+	public static final String STATUS_ACTIVE = "ACTIVE";
+
+	private final String email;
+	private final String password; // In a real Database, password should be hashed.
+	private final String role;
+	private final String status;
+
+	public UserRecord(String email, String password, String role, String status) {
+		this.email = Objects.requireNonNull(email, "email");
+		this.password = password;
+		this.role = role;
+		this.status = status;
+	}
+
+	/**
+	 * A newly registered, active user.
+	 */
+	public static UserRecord active(String email, String password, String role) {
+		return new UserRecord(email, password, role, STATUS_ACTIVE);
+	}
+
+	public String email() {
+		return email;
+	}
+
+	public String password() {
+		return password;
+	}
+
+	public String role() {
+		return role;
+	}
+
+	public String status() {
+		return status;
+	}
+
+	public UserRecord withStatus(String newStatus) {
+		return new UserRecord(email, password, role, newStatus);
+	}
+
+	@Override
+	public boolean equals(Object other) {
+		if (this == other) {
+			return true;
+		}
+		if (!(other instanceof UserRecord)) {
+			return false;
+		}
+		UserRecord that = (UserRecord) other;
+		return email.equals(that.email) && Objects.equals(password, that.password) && Objects.equals(role, that.role)
+				&& Objects.equals(status, that.status);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(email, password, role, status);
+	}
+
+	@Override
+	public String toString() {
+		return "UserRecord[" + email + ", role=" + role + ", status=" + status + "]";
+	}
+}
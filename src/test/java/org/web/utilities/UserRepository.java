@@ -0,0 +1,67 @@
+package org.web.utilities;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The 'users' table behind {@link DatabaseUtil}. Implementations must be safe for parallel test threads.
+ *
+ * Backend selection (-Ddb.backend): "memory" ({@link UserStore}, default) or "h2" ({@link JdbcUserRepository},
+ * embedded SQL database; -Ddb.url picks in-memory or file storage).
+ */
+public interface UserRepository {
+
+	/**
+	 * Atomic check-and-insert.
+	 * @return true if inserted, false if the email already existed (row left unchanged).
+	 */
+	boolean insertIfAbsent(UserRecord user);
+
+	/**
+	 * Inserts or replaces the row.
+	 */
+	void upsert(UserRecord user);
+
+	/**
+	 * Bulk seed: inserts every user not already present.
+	 * @return the number of rows inserted.
+	 */
+	int seedAll(Collection<UserRecord> users);
+
+	/**
+	 * @return the row, or null.
+	 */
+	UserRecord get(String email);
+
+	boolean contains(String email);
+
+	/**
+	 * @return true if a row was deleted.
+	 */
+	boolean delete(String email);
+
+	List<UserRecord> findByRole(String role);
+
+	List<UserRecord> findByStatus(String status);
+
+	int size();
+
+	void clear();
+
+	default boolean isConnected() {
+		return true;
+	}
+
+	/**
+	 * The backend chosen by -Ddb.backend.
+	 */
+	static UserRepository fromSystemProperties() {
+		String backend = System.getProperty("db.backend", "memory");
+		if (backend.equalsIgnoreCase("memory")) {
+			return new UserStore();
+		} else if (backend.equalsIgnoreCase("h2")) {
+			return JdbcUserRepository.fromSystemProperties();
+		}
+		throw new IllegalArgumentException("Unknown db.backend '" + backend + "', expected memory or h2");
+	}
+}
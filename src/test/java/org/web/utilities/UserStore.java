@@ -0,0 +1,165 @@
+package org.web.utilities;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Thread-safe in-memory 'users' table: typed {@link UserRecord} rows in a ConcurrentHashMap keyed by email,
+ * with optional secondary indexes on role and status.
+ *
+ * Every write goes through ConcurrentHashMap.compute for its key, so the row and its index entries change together
+ * and concurrent writers to the same email never lose an update. Index lookups are weakly consistent snapshots,
+ * like any ConcurrentHashMap iteration.
+ */
+public final class UserStore implements UserRepository {
+
+	private final Map<String, UserRecord> rows = new ConcurrentHashMap<>();
+	private final Index roleIndex;
+	private final Index statusIndex;
+
+	/**
+	 * Secondary index: column value -> emails. Null when the column is not indexed.
+	 */
+	private static final class Index {
+		final Function<UserRecord, String> column;
+		final Map<String, Set<String>> emails = new ConcurrentHashMap<>();
+
+		Index(Function<UserRecord, String> column) {
+			this.column = column;
+		}
+
+		void update(UserRecord before, UserRecord after) {
+			String oldValue = before == null ? null : column.apply(before);
+			String newValue = after == null ? null : column.apply(after);
+			if (oldValue != null && !oldValue.equals(newValue)) {
+				Set<String> set = emails.get(oldValue);
+				if (set != null) {
+					set.remove(before.email());
+				}
+			}
+			if (newValue != null) {
+				emails.computeIfAbsent(newValue, value -> ConcurrentHashMap.newKeySet()).add(after.email());
+			}
+		}
+	}
+
+	public UserStore() {
+		this(true, true);
+	}
+
+	public UserStore(boolean indexRole, boolean indexStatus) {
+		this.roleIndex = indexRole ? new Index(UserRecord::role) : null;
+		this.statusIndex = indexStatus ? new Index(UserRecord::status) : null;
+	}
+
+	@Override
+	public boolean insertIfAbsent(UserRecord user) {
+		boolean[] inserted = new boolean[1];
+		rows.compute(user.email(), (email, existing) -> {
+			if (existing != null) {
+				return existing;
+			}
+			index(null, user);
+			inserted[0] = true;
+			return user;
+		});
+		return inserted[0];
+	}
+
+	@Override
+	public void upsert(UserRecord user) {
+		rows.compute(user.email(), (email, existing) -> {
+			index(existing, user);
+			return user;
+		});
+	}
+
+	@Override
+	public int seedAll(Collection<UserRecord> users) {
+		int inserted = 0;
+		for (UserRecord user : users) {
+			if (insertIfAbsent(user)) {
+				inserted++;
+			}
+		}
+		return inserted;
+	}
+
+	@Override
+	public UserRecord get(String email) {
+		return rows.get(email);
+	}
+
+	@Override
+	public boolean contains(String email) {
+		return rows.containsKey(email);
+	}
+
+	@Override
+	public boolean delete(String email) {
+		boolean[] deleted = new boolean[1];
+		rows.computeIfPresent(email, (key, existing) -> {
+			index(existing, null);
+			deleted[0] = true;
+			return null;
+		});
+		return deleted[0];
+	}
+
+	@Override
+	public List<UserRecord> findByRole(String role) {
+		return find(roleIndex, UserRecord::role, role);
+	}
+
+	@Override
+	public List<UserRecord> findByStatus(String status) {
+		return find(statusIndex, UserRecord::status, status);
+	}
+
+	@Override
+	public int size() {
+		return rows.size();
+	}
+
+	@Override
+	public void clear() {
+		for (String email : new ArrayList<>(rows.keySet())) {
+			delete(email);
+		}
+	}
+
+	private void index(UserRecord before, UserRecord after) {
+		if (roleIndex != null) {
+			roleIndex.update(before, after);
+		}
+		if (statusIndex != null) {
+			statusIndex.update(before, after);
+		}
+	}
+
+	// Index lookup when the column is indexed, full scan otherwise
+	private List<UserRecord> find(Index index, Function<UserRecord, String> column, String value) {
+		List<UserRecord> found = new ArrayList<>();
+		if (index != null) {
+			for (String email : index.emails.getOrDefault(value, Collections.emptySet())) {
+				UserRecord user = rows.get(email);
+				if (user != null && value.equals(column.apply(user))) {
+					found.add(user);
+				}
+			}
+		} else {
+			for (UserRecord user : rows.values()) {
+				if (value.equals(column.apply(user))) {
+					found.add(user);
+				}
+			}
+		}
+		return found;
+	}
+}
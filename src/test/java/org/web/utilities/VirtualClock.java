@@ -0,0 +1,178 @@
+package org.web.utilities;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+/**
+ * Virtual time for timer-driven pages. A clock script replaces setTimeout/setInterval/requestAnimationFrame,
+ * Date and performance.now before any page script runs; the test then fast-forwards time with
+ * {@link #advance(Duration)} instead of waiting in real time. The real timers stay available to
+ * helpers such as DomWait as window.__nativeTimers.
+ *
+ * Injection:
+ * - Chromium (Chrome/Edge): CDP Page.addScriptToEvaluateOnNewDocument, for any URL.
+ * - Other browsers, file:// fixtures only: a copy of the fixture with the clock script as the first
+ *   element of &lt;head&gt; is written to a temp directory and loaded instead (relative assets are not copied).
+ *
+ * Close the clock (try-with-resources) to remove the preload script before the session goes back to the pool.
+ */
+public final class VirtualClock implements AutoCloseable {
+
+	static final String CLOCK_SCRIPT = "(function () {"
+			+ "  if (window.__virtualClock) { return; }"
+			+ "  var NativeDate = Date;"
+			+ "  var native = {"
+			+ "    setTimeout: window.setTimeout.bind(window), clearTimeout: window.clearTimeout.bind(window),"
+			+ "    setInterval: window.setInterval.bind(window), clearInterval: window.clearInterval.bind(window)"
+			+ "  };"
+			+ "  var perfNow = performance.now.bind(performance);"
+			+ "  var start = NativeDate.now(), now = start, perfStart = perfNow();"
+			+ "  var timers = {}, nextId = 1;"
+			+ "  function schedule(fn, delay, args, repeat) {"
+			+ "    var id = nextId++;"
+			+ "    delay = Math.max(0, Number(delay) || 0);"
+			+ "    timers[id] = { id: id, fn: fn, at: now + delay, args: args, interval: repeat ? Math.max(1, delay) : 0 };"
+			+ "    return id;"
+			+ "  }"
+			+ "  function cancel(id) { delete timers[id]; }"
+			+ "  window.setTimeout = function (fn, delay) { return schedule(fn, delay, Array.prototype.slice.call(arguments, 2), false); };"
+			+ "  window.setInterval = function (fn, delay) { return schedule(fn, delay, Array.prototype.slice.call(arguments, 2), true); };"
+			+ "  window.clearTimeout = cancel;"
+			+ "  window.clearInterval = cancel;"
+			+ "  window.requestAnimationFrame = function (callback) {"
+			+ "    return schedule(function () { callback(performance.now()); }, 16 - ((now - start) % 16), [], false);"
+			+ "  };"
+			+ "  window.cancelAnimationFrame = cancel;"
+			+ "  function VirtualDate(y, m, d, h, mi, s, ms) {"
+			+ "    if (!(this instanceof VirtualDate)) { return new NativeDate(now).toString(); }"
+			+ "    if (arguments.length === 0) { return new NativeDate(now); }"
+			+ "    if (arguments.length === 1) { return new NativeDate(y); }"
+			+ "    return new NativeDate(y, m, d === undefined ? 1 : d, h || 0, mi || 0, s || 0, ms || 0);"
+			+ "  }"
+			+ "  VirtualDate.prototype = NativeDate.prototype;"
+			+ "  VirtualDate.now = function () { return now; };"
+			+ "  VirtualDate.parse = NativeDate.parse;"
+			+ "  VirtualDate.UTC = NativeDate.UTC;"
+			+ "  window.Date = VirtualDate;"
+			+ "  try { performance.now = function () { return perfStart + (now - start); }; } catch (e) {}"
+			+ "  function nextDue(limit) {"
+			+ "    var due = null;"
+			+ "    for (var id in timers) {"
+			+ "      var t = timers[id];"
+			+ "      if (t.at <= limit && (!due || t.at < due.at || (t.at === due.at && t.id < due.id))) { due = t; }"
+			+ "    }"
+			+ "    return due;"
+			+ "  }"
+			+ "  window.__nativeTimers = native;"
+			+ "  window.__virtualClock = {"
+			+ "    now: function () { return now; },"
+			+ "    pending: function () { return Object.keys(timers).length; },"
+			+ "    advance: function (ms) {"
+			+ "      var target = now + ms, fired = 0, t;"
+			+ "      while ((t = nextDue(target))) {"
+			+ "        now = t.at;"
+			+ "        if (t.interval) { t.at += t.interval; } else { delete timers[t.id]; }"
+			+ "        if (++fired > 100000) { throw new Error('VirtualClock: more than 100000 timers fired, runaway interval?'); }"
+			+ "        try {"
+			+ "          if (typeof t.fn === 'function') { t.fn.apply(window, t.args); } else { (0, eval)(String(t.fn)); }"
+			+ "        } catch (e) {"
+			// Report like a real timer would, without aborting the remaining timers
+			+ "          native.setTimeout(function () { throw e; }, 0);"
+			+ "        }"
+			+ "      }"
+			+ "      now = target;"
+			+ "      return fired;"
+			+ "    }"
+			+ "  };"
+			+ "})();";
+
+	private static final Pattern HEAD_OPEN = Pattern.compile("<head[^>]*>", Pattern.CASE_INSENSITIVE);
+
+	private final WebDriver driver;
+	private final String preloadScriptId;
+	private final Path fixtureCopy;
+
+	private VirtualClock(WebDriver driver, String preloadScriptId, Path fixtureCopy) {
+		this.driver = driver;
+		this.preloadScriptId = preloadScriptId;
+		this.fixtureCopy = fixtureCopy;
+	}
+
+	/**
+	 * Installs the clock for every page the driver loads from now on (Chromium only).
+	 * @throws UnsupportedOperationException if the browser has no preload-script support; use {@link #openFixture} instead.
+	 */
+	public static VirtualClock install(WebDriver driver) {
+		if (!(driver instanceof HasCdp)) {
+			throw new UnsupportedOperationException("Preload scripts need a Chromium browser; use VirtualClock.openFixture for file:// fixtures");
+		}
+		Map<String, Object> result = ((HasCdp) driver).executeCdpCommand("Page.addScriptToEvaluateOnNewDocument",
+				Map.of("source", CLOCK_SCRIPT));
+		return new VirtualClock(driver, String.valueOf(result.get("identifier")), null);
+	}
+
+	/**
+	 * Opens a local HTML fixture with the clock installed before its scripts run.
+	 */
+	public static VirtualClock openFixture(WebDriver driver, Path html) throws IOException {
+		if (driver instanceof HasCdp) {
+			VirtualClock clock = install(driver);
+			driver.get(html.toUri().toString());
+			return clock;
+		}
+
+		String source = Files.readString(html, StandardCharsets.UTF_8);
+		String script = "<script>" + CLOCK_SCRIPT + "</script>";
+		Matcher head = HEAD_OPEN.matcher(source);
+		String injected = head.find()
+				? source.substring(0, head.end()) + script + source.substring(head.end())
+				: script + source;
+
+		Path copy = Files.createTempFile("virtual_clock_", "_" + html.getFileName());
+		Files.writeString(copy, injected, StandardCharsets.UTF_8);
+		driver.get(copy.toUri().toString());
+		return new VirtualClock(driver, null, copy);
+	}
+
+	/**
+	 * Fast-forwards the page's clock, synchronously running every timer, interval and animation frame due in between.
+	 * @return the number of callbacks that fired.
+	 */
+	public long advance(Duration duration) {
+		Object fired = ((JavascriptExecutor) driver).executeScript(
+				"return window.__virtualClock.advance(arguments[0]);", duration.toMillis());
+		return ((Number) fired).longValue();
+	}
+
+	/**
+	 * Number of timers still scheduled on the virtual clock.
+	 */
+	public long pendingTimers() {
+		return ((Number) ((JavascriptExecutor) driver).executeScript("return window.__virtualClock.pending();")).longValue();
+	}
+
+	@Override
+	public void close() {
+		if (preloadScriptId != null) {
+			((HasCdp) driver).executeCdpCommand("Page.removeScriptToEvaluateOnNewDocument",
+					Map.of("identifier", preloadScriptId));
+		}
+		if (fixtureCopy != null) {
+			try {
+				Files.deleteIfExists(fixtureCopy);
+			} catch (IOException e) {
+				System.err.println("Could not delete virtual clock fixture copy: " + e.getMessage());
+			}
+		}
+	}
+}
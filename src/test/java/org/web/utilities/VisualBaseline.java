@@ -0,0 +1,76 @@
+package org.web.utilities;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import javax.imageio.ImageIO;
+
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.testng.SkipException;
+
+/**
+ * Baseline workflow on top of {@link VisualDiff}: compares the current page with
+ * src/test/resources/baselines/&lt;browser&gt;/&lt;name&gt;.png.
+ *
+ * - -Dvisual.updateBaselines=true: the baseline is (re)recorded from the current screenshot; commit the PNG.
+ * - No baseline: the test is skipped with instructions, never silently recorded, so a fresh checkout or CI run
+ *   cannot pass without comparing anything.
+ * - Otherwise: on a mismatch above the threshold, the actual screenshot and the diff image are saved in the
+ *   {@link ArtifactStore} (kinds "visual-actual" and "visual-diff") for review.
+ */
+public final class VisualBaseline {
+
+	private static final Path BASELINE_DIR = Paths.get("src", "test", "resources", "baselines");
+	private static final boolean UPDATE = Boolean.getBoolean("visual.updateBaselines");
+
+	private VisualBaseline() {
+	}
+
+	/**
+	 * Screenshots the page and compares it with the stored baseline.
+	 * @param maxMismatchPercent highest mismatch percentage that still passes.
+	 * @return the comparison, or null if the baseline was (re)recorded.
+	 * @throws AssertionError if the mismatch exceeds maxMismatchPercent.
+	 * @throws SkipException if there is no baseline and -Dvisual.updateBaselines is not set.
+	 */
+	public static VisualDiff.Result check(WebDriver driver, String name, String browser, VisualDiff.Options options,
+			double maxMismatchPercent) throws IOException {
+		byte[] png = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+		Path baseline = BASELINE_DIR.resolve(browser.toLowerCase()).resolve(name + ".png");
+
+		if (!UPDATE && !Files.exists(baseline)) {
+			throw new SkipException("No visual baseline " + baseline + ". Record it with -Dvisual.updateBaselines=true "
+					+ "on a reference machine, review the PNG and commit it.");
+		}
+		if (UPDATE) {
+			Files.createDirectories(baseline.getParent());
+			Files.write(baseline, png);
+			System.out.println("[VISUAL] Recorded baseline " + baseline);
+			return null;
+		}
+
+		BufferedImage expected = ImageIO.read(baseline.toFile());
+		BufferedImage actual = ImageIO.read(new ByteArrayInputStream(png));
+		long start = System.nanoTime();
+		VisualDiff.Result result = VisualDiff.compare(expected, actual, options);
+		System.out.printf("[VISUAL] %s/%s: %s in %.1f ms%n", browser, name, result, (System.nanoTime() - start) / 1e6);
+
+		if (result.mismatchPercent() > maxMismatchPercent) {
+			ByteArrayOutputStream diffPng = new ByteArrayOutputStream();
+			ImageIO.write(result.diffImage(), "png", diffPng);
+			ArtifactStore store = ArtifactStore.shared();
+			Path actualFile = store.put(png, "png", name, browser, "visual-actual").path();
+			Path diffFile = store.put(diffPng.toByteArray(), "png", name, browser, "visual-diff").path();
+			throw new AssertionError(String.format("Visual mismatch for %s on %s: %s exceeds %.3f%%. Actual: %s, diff: %s",
+					name, browser, result, maxMismatchPercent, actualFile.toAbsolutePath(), diffFile.toAbsolutePath()));
+		}
+		return result;
+	}
+}
@@ -0,0 +1,271 @@
+package org.web.utilities;
+
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Pixel comparison engine for visual regression checks.
+ *
+ * Both images are read as raw ARGB int[] rasters and split into square tiles, which are compared in parallel
+ * on the common fork-join pool. A pixel mismatches when any colour channel differs by more than the tolerance
+ * (anti-aliasing and font hinting differences stay below ~8). Ignore regions (dates, carousels, ads) are skipped.
+ *
+ * The diff image shows the baseline in faded grey, mismatched pixels in red and ignored regions in blue.
+ */
+public final class VisualDiff {
+
+	private static final int MISMATCH_COLOR = 0xFFFF0000;
+	private static final int IGNORED_TINT = 0xFF3060C0;
+
+	private VisualDiff() {
+	}
+
+	/**
+	 * Comparison settings. Defaults: tolerance 8 per channel, 256 px tiles, no ignore regions.
+	 */
+	public static final class Options {
+		private int tolerance = 8;
+		private int tileSize = 256;
+		private final List<Rectangle> ignoreRegions = new ArrayList<>();
+
+		/**
+		 * Maximum difference per colour channel (0-255) that still counts as equal.
+		 */
+		public Options tolerance(int tolerance) {
+			if (tolerance < 0 || tolerance > 255) {
+				throw new IllegalArgumentException("Tolerance must be between 0 and 255: " + tolerance);
+			}
+			this.tolerance = tolerance;
+			return this;
+		}
+
+		public Options tileSize(int tileSize) {
+			if (tileSize < 16) {
+				throw new IllegalArgumentException("Tile size must be at least 16: " + tileSize);
+			}
+			this.tileSize = tileSize;
+			return this;
+		}
+
+		/**
+		 * Excludes a region (in screenshot pixels) from the comparison.
+		 */
+		public Options ignore(int x, int y, int width, int height) {
+			ignoreRegions.add(new Rectangle(x, y, width, height));
+			return this;
+		}
+
+		public List<Rectangle> ignoreRegions() {
+			return Collections.unmodifiableList(ignoreRegions);
+		}
+	}
+
+	/**
+	 * Outcome of a comparison.
+	 */
+	public static final class Result {
+		private final long mismatchedPixels;
+		private final long comparedPixels;
+		private final boolean sameSize;
+		private final BufferedImage diffImage;
+
+		Result(long mismatchedPixels, long comparedPixels, boolean sameSize, BufferedImage diffImage) {
+			this.mismatchedPixels = mismatchedPixels;
+			this.comparedPixels = comparedPixels;
+			this.sameSize = sameSize;
+			this.diffImage = diffImage;
+		}
+
+		public long mismatchedPixels() {
+			return mismatchedPixels;
+		}
+
+		/**
+		 * Mismatched pixels as a percentage of the compared (not ignored) pixels; 100 if the sizes differ.
+		 */
+		public double mismatchPercent() {
+			if (!sameSize) {
+				return 100.0;
+			}
+			return comparedPixels == 0 ? 0.0 : mismatchedPixels * 100.0 / comparedPixels;
+		}
+
+		public boolean sameSize() {
+			return sameSize;
+		}
+
+		public BufferedImage diffImage() {
+			return diffImage;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%.3f%% mismatch (%d of %d pixels%s)", mismatchPercent(), mismatchedPixels, comparedPixels,
+					sameSize ? "" : ", image sizes differ");
+		}
+	}
+
+	public static Result compare(BufferedImage baseline, BufferedImage actual) {
+		return compare(baseline, actual, new Options());
+	}
+
+	public static Result compare(BufferedImage baseline, BufferedImage actual, Options options) {
+		int width = Math.min(baseline.getWidth(), actual.getWidth());
+		int height = Math.min(baseline.getHeight(), actual.getHeight());
+		boolean sameSize = baseline.getWidth() == actual.getWidth() && baseline.getHeight() == actual.getHeight();
+
+		int[] expected = raster(baseline);
+		int[] current = raster(actual);
+		BufferedImage diffImage = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+		int[] diff = ((DataBufferInt) diffImage.getRaster().getDataBuffer()).getData();
+
+		List<Rectangle> tiles = new ArrayList<>();
+		for (int y = 0; y < height; y += options.tileSize) {
+			for (int x = 0; x < width; x += options.tileSize) {
+				tiles.add(new Rectangle(x, y, Math.min(options.tileSize, width - x), Math.min(options.tileSize, height - y)));
+			}
+		}
+
+		TileTask task = new TileTask(tiles, 0, tiles.size(), new Frame(expected, baseline.getWidth(), current,
+				actual.getWidth(), diff, width, options));
+		long[] counts = ForkJoinPool.commonPool().invoke(task);
+		return new Result(counts[0], counts[1], sameSize, diffImage);
+	}
+
+	// Shared, read-only inputs of one comparison (the diff raster is written in disjoint tiles)
+	private static final class Frame {
+		final int[] expected;
+		final int expectedStride;
+		final int[] actual;
+		final int actualStride;
+		final int[] diff;
+		final int diffStride;
+		final int tolerance;
+		final List<Rectangle> ignore;
+
+		Frame(int[] expected, int expectedStride, int[] actual, int actualStride, int[] diff, int diffStride, Options options) {
+			this.expected = expected;
+			this.expectedStride = expectedStride;
+			this.actual = actual;
+			this.actualStride = actualStride;
+			this.diff = diff;
+			this.diffStride = diffStride;
+			this.tolerance = options.tolerance;
+			this.ignore = options.ignoreRegions;
+		}
+	}
+
+	/**
+	 * Splits the tile list in halves until a single tile is left, then compares it.
+	 * Returns {mismatched, compared} pixel counts.
+	 */
+	private static final class TileTask extends RecursiveTask<long[]> {
+		private static final long serialVersionUID = 1L;
+
+		private final transient List<Rectangle> tiles;
+		private final int from;
+		private final int to;
+		private final transient Frame frame;
+
+		TileTask(List<Rectangle> tiles, int from, int to, Frame frame) {
+			this.tiles = tiles;
+			this.from = from;
+			this.to = to;
+			this.frame = frame;
+		}
+
+		@Override
+		protected long[] compute() {
+			if (to - from <= 1) {
+				return from < to ? compareTile(tiles.get(from)) : new long[2];
+			}
+			int middle = (from + to) >>> 1;
+			TileTask left = new TileTask(tiles, from, middle, frame);
+			left.fork();
+			long[] right = new TileTask(tiles, middle, to, frame).compute();
+			long[] leftResult = left.join();
+			return new long[] { leftResult[0] + right[0], leftResult[1] + right[1] };
+		}
+
+		private long[] compareTile(Rectangle tile) {
+			List<Rectangle> ignored = new ArrayList<>();
+			for (Rectangle region : frame.ignore) {
+				if (region.intersects(tile)) {
+					ignored.add(region);
+				}
+			}
+
+			long mismatched = 0, compared = 0;
+			int tolerance = frame.tolerance;
+			for (int y = tile.y; y < tile.y + tile.height; y++) {
+				int expectedRow = y * frame.expectedStride;
+				int actualRow = y * frame.actualStride;
+				int diffRow = y * frame.diffStride;
+				for (int x = tile.x; x < tile.x + tile.width; x++) {
+					int a = frame.expected[expectedRow + x];
+					if (!ignored.isEmpty() && isIgnored(ignored, x, y)) {
+						frame.diff[diffRow + x] = IGNORED_TINT;
+						continue;
+					}
+					compared++;
+					int b = frame.actual[actualRow + x];
+					if (a != b && (Math.abs(((a >> 16) & 0xFF) - ((b >> 16) & 0xFF)) > tolerance
+							|| Math.abs(((a >> 8) & 0xFF) - ((b >> 8) & 0xFF)) > tolerance
+							|| Math.abs((a & 0xFF) - (b & 0xFF)) > tolerance
+							|| Math.abs((a >>> 24) - (b >>> 24)) > tolerance)) {
+						mismatched++;
+						frame.diff[diffRow + x] = MISMATCH_COLOR;
+					} else {
+						frame.diff[diffRow + x] = faded(a);
+					}
+				}
+			}
+			return new long[] { mismatched, compared };
+		}
+	}
+
+	private static boolean isIgnored(List<Rectangle> regions, int x, int y) {
+		for (Rectangle region : regions) {
+			if (region.contains(x, y)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	// Light grey version of the baseline pixel, so red mismatches stand out
+	private static int faded(int argb) {
+		int grey = (((argb >> 16) & 0xFF) * 30 + ((argb >> 8) & 0xFF) * 59 + (argb & 0xFF) * 11) / 100;
+		grey = 192 + grey / 4;
+		return 0xFF000000 | (grey << 16) | (grey << 8) | grey;
+	}
+
+	/**
+	 * The image's pixels as ARGB ints, converting (copying) only if the image is not already TYPE_INT_ARGB/RGB.
+	 */
+	static int[] raster(BufferedImage image) {
+		if (image.getType() == BufferedImage.TYPE_INT_ARGB) {
+			return ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+		}
+		if (image.getType() == BufferedImage.TYPE_INT_RGB) {
+			int[] rgb = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+			int[] argb = new int[rgb.length];
+			for (int i = 0; i < rgb.length; i++) {
+				argb[i] = 0xFF000000 | rgb[i];
+			}
+			return argb;
+		}
+		BufferedImage converted = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_ARGB);
+		Graphics2D graphics = converted.createGraphics();
+		graphics.drawImage(image, 0, 0, null);
+		graphics.dispose();
+		return ((DataBufferInt) converted.getRaster().getDataBuffer()).getData();
+	}
+}